@@ -3,9 +3,15 @@ package study.querydsl.controller;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import study.querydsl.dto.MemberCursor;
 import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberSliceDto;
 import study.querydsl.dto.MemberTeamDto;
 import study.querydsl.entity.Member;
 import study.querydsl.repository.MemberJpaRepository;
@@ -17,6 +23,8 @@ import java.util.List;
 @RequiredArgsConstructor
 public class MemberController {
 
+    static final int MAX_SLICE_SIZE = 100;
+
     private final MemberJpaRepository memberJpaRepository;
     private final MemberRepository memberRepository;
 
@@ -35,5 +43,30 @@ public class MemberController {
         return memberRepository.searchPageComplex(condition, pageable);
     }
 
+    // 커서 기반 페이징: 첫 요청은 sort 만, 다음 요청부터는 응답의 nextCursor 를 cursor 로 넘긴다
+    @GetMapping("/v4/members")
+    public MemberSliceDto searchMemberV4(MemberSearchCondition condition,
+                                        @RequestParam(required = false) String cursor,
+                                        @RequestParam(defaultValue = "ID") MemberCursor.SortKey sort,
+                                        @RequestParam(defaultValue = "20") int size) {
+        if (size < 1 || size > MAX_SLICE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "size 는 1 ~ " + MAX_SLICE_SIZE + " 사이여야 합니다.");
+        }
+        MemberCursor memberCursor;
+        try {
+            memberCursor = cursor == null ? MemberCursor.first(sort) : MemberCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+        Slice<MemberTeamDto> slice = memberRepository.searchSlice(condition, memberCursor, size);
+
+        String nextCursor = null;
+        if (slice.hasNext()) {
+            List<MemberTeamDto> content = slice.getContent();
+            nextCursor = MemberCursor.after(memberCursor.getSortKey(), content.get(content.size() - 1)).encode();
+        }
+        return new MemberSliceDto(slice.getContent(), slice.hasNext(), nextCursor);
+    }
+
 
 }
@@ -0,0 +1,61 @@
+package study.querydsl.dto;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * keyset(seek) 페이징 커서
+ * 마지막으로 조회한 회원의 정렬 키 값과 id 를 담고, 클라이언트에는 불투명한 토큰(base64url)으로 내려준다
+ */
+@Getter
+@ToString
+public class MemberCursor {
+
+    public enum SortKey {
+        ID, AGE
+    }
+
+    private final SortKey sortKey;
+    private final int age;      // SortKey.AGE 일 때만 사용
+    private final Long lastId;
+
+    public MemberCursor(SortKey sortKey, int age, Long lastId) {
+        this.sortKey = sortKey;
+        this.age = age;
+        this.lastId = lastId;
+    }
+
+    public static MemberCursor first(SortKey sortKey) {
+        return new MemberCursor(sortKey, 0, null);
+    }
+
+    public static MemberCursor after(SortKey sortKey, MemberTeamDto last) {
+        return new MemberCursor(sortKey, last.getAge(), last.getMemberId());
+    }
+
+    public boolean isFirst() {
+        return lastId == null;
+    }
+
+    public String encode() {
+        String raw = sortKey + ":" + age + ":" + lastId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static MemberCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("잘못된 커서: " + token);
+            }
+            return new MemberCursor(SortKey.valueOf(parts[0]), Integer.parseInt(parts[1]), Long.valueOf(parts[2]));
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException 포함
+            throw new IllegalArgumentException("잘못된 커서: " + token, e);
+        }
+    }
+}
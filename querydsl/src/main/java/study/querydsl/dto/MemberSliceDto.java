@@ -0,0 +1,19 @@
+package study.querydsl.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class MemberSliceDto {
+
+    private List<MemberTeamDto> content;
+    private boolean hasNext;
+    private String nextCursor; // 다음 페이지 요청에 그대로 넘긴다, 마지막 페이지면 null
+
+    public MemberSliceDto(List<MemberTeamDto> content, boolean hasNext, String nextCursor) {
+        this.content = content;
+        this.hasNext = hasNext;
+        this.nextCursor = nextCursor;
+    }
+}
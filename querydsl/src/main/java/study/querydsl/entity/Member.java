@@ -3,8 +3,10 @@ package study.querydsl.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import study.querydsl.entity.Team;
+import study.querydsl.repository.MemberCountCacheListener;
 
 @Entity
+@EntityListeners(MemberCountCacheListener.class)
 @Getter
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -0,0 +1,83 @@
+package study.querydsl.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import study.querydsl.dto.MemberSearchCondition;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * 페이징 count 쿼리 결과 캐시
+ * 검색 조건별로 짧은 TTL 동안 count 를 재사용하고, Member 가 변경되면 전부 무효화한다
+ * (벌크 update/delete 는 엔티티 리스너를 거치지 않으므로 TTL 이 지나야 반영된다)
+ */
+@Slf4j
+@Component
+public class MemberCountCache {
+
+    private static final int MAX_ENTRIES = 1000;
+
+    private final long ttlMillis;
+    private final Map<MemberSearchCondition, CachedCount> cache = new ConcurrentHashMap<>();
+
+    public MemberCountCache(@Value("${member.count-cache.ttl:5s}") Duration ttl) {
+        this.ttlMillis = ttl.toMillis();
+    }
+
+    public long getOrLoad(MemberSearchCondition condition, LongSupplier countQuery) {
+        long now = System.currentTimeMillis();
+        CachedCount cached = cache.get(condition);
+        if (cached != null && cached.expiresAt > now) {
+            return cached.count;
+        }
+
+        long count = countQuery.getAsLong();
+        if (cache.size() >= MAX_ENTRIES) {
+            cache.values().removeIf(c -> c.expiresAt <= now);
+            if (cache.size() >= MAX_ENTRIES) {
+                cache.clear();
+            }
+        }
+        // 조건 객체는 변경 가능하므로 복사해서 키로 쓴다
+        cache.put(copyOf(condition), new CachedCount(count, now + ttlMillis));
+        return count;
+    }
+
+    public void invalidateAll() {
+        cache.clear();
+        // 커밋 전에 다른 트랜잭션이 다시 채운 count 도 커밋 시점에 한 번 더 비운다
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.clear();
+                }
+            });
+        }
+    }
+
+    private static MemberSearchCondition copyOf(MemberSearchCondition condition) {
+        MemberSearchCondition copy = new MemberSearchCondition();
+        copy.setUsername(condition.getUsername());
+        copy.setTeamName(condition.getTeamName());
+        copy.setAgeGoe(condition.getAgeGoe());
+        copy.setAgeLoe(condition.getAgeLoe());
+        return copy;
+    }
+
+    private static class CachedCount {
+        private final long count;
+        private final long expiresAt;
+
+        CachedCount(long count, long expiresAt) {
+            this.count = count;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package study.querydsl.repository;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import study.querydsl.entity.Member;
+
+/**
+ * Member 엔티티 변경 시 count 캐시 무효화
+ * 하이버네이트가 스프링 빈 컨테이너로 리스너를 생성하므로 생성자 주입을 받을 수 있다
+ */
+@RequiredArgsConstructor
+public class MemberCountCacheListener {
+
+    private final MemberCountCache memberCountCache;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Member member) {
+        memberCountCache.invalidateAll();
+    }
+}
@@ -1,14 +1,19 @@
 package study.querydsl.repository;
 
 import com.querydsl.core.QueryResults;
+import com.querydsl.core.types.OrderSpecifier;
 import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import jakarta.persistence.EntityManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.support.PageableExecutionUtils;
+import study.querydsl.dto.MemberCursor;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
 import study.querydsl.dto.QMemberTeamDto;
@@ -23,9 +28,11 @@ import static study.querydsl.entity.QTeam.team;
 public class MemberRepositoryCustomImpl implements MemberRepositoryCustom {
 
     private final JPAQueryFactory queryFactory;
+    private final MemberCountCache memberCountCache;
 
-    public MemberRepositoryCustomImpl(EntityManager em) {
+    public MemberRepositoryCustomImpl(EntityManager em, MemberCountCache memberCountCache) {
         this.queryFactory = new JPAQueryFactory(em);
+        this.memberCountCache = memberCountCache;
     }
 
     @Override
@@ -102,7 +109,45 @@ public class MemberRepositoryCustomImpl implements MemberRepositoryCustom {
                         ageLoe(condition.getAgeLoe()));
 
 //        return new PageImpl<>(content, pageable, total);
-        return PageableExecutionUtils.getPage(content, pageable, countQuery::fetchCount);
+        // count 쿼리는 조건별로 캐시된 값을 재사용한다
+        return PageableExecutionUtils.getPage(content, pageable,
+                () -> memberCountCache.getOrLoad(condition, countQuery::fetchCount));
+    }
+
+    /**
+     * keyset(seek) 페이징
+     * offset 대신 이전 페이지 마지막 회원의 (정렬 키, id) 보다 뒤에 있는 회원을 조회하므로 페이지 깊이와 상관없이 비용이 같다
+     * size + 1 개를 조회해서 다음 페이지 존재 여부를 판단하고 count 쿼리는 사용하지 않는다
+     */
+    @Override
+    public Slice<MemberTeamDto> searchSlice(MemberSearchCondition condition, MemberCursor cursor, int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size must be positive: " + size);
+        }
+        List<MemberTeamDto> content = queryFactory
+                .select(new QMemberTeamDto(
+                        member.id,
+                        member.username,
+                        member.age,
+                        team.id,
+                        team.name))
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(
+                        usernameEq(condition.getUsername()),
+                        teamNameEq(condition.getTeamName()),
+                        ageGoe(condition.getAgeGoe()),
+                        ageLoe(condition.getAgeLoe()),
+                        after(cursor))
+                .orderBy(seekOrder(cursor.getSortKey()))
+                .limit(size + 1)
+                .fetch();
+
+        boolean hasNext = content.size() > size;
+        if (hasNext) {
+            content.remove(size);
+        }
+        return new SliceImpl<>(content, PageRequest.of(0, size), hasNext);
     }
 
 
@@ -121,4 +166,22 @@ public class MemberRepositoryCustomImpl implements MemberRepositoryCustom {
     private BooleanExpression ageLoe(Integer ageLoe) {
         return ageLoe == null ? null : member.age.loe(ageLoe);
     }
+
+    private BooleanExpression after(MemberCursor cursor) {
+        if (cursor.isFirst()) {
+            return null;
+        }
+        if (cursor.getSortKey() == MemberCursor.SortKey.AGE) {
+            return member.age.gt(cursor.getAge())
+                    .or(member.age.eq(cursor.getAge()).and(member.id.gt(cursor.getLastId())));
+        }
+        return member.id.gt(cursor.getLastId());
+    }
+
+    private OrderSpecifier<?>[] seekOrder(MemberCursor.SortKey sortKey) {
+        if (sortKey == MemberCursor.SortKey.AGE) {
+            return new OrderSpecifier<?>[]{member.age.asc(), member.id.asc()};
+        }
+        return new OrderSpecifier<?>[]{member.id.asc()};
+    }
 }
@@ -0,0 +1,52 @@
+package study.querydsl.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@Transactional
+class MemberControllerTest {
+
+    @Autowired WebApplicationContext context;
+    MockMvc mockMvc;
+
+    @BeforeEach
+    public void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+    }
+
+    @Test
+    public void searchMemberV4_invalidSize() throws Exception {
+        mockMvc.perform(get("/v4/members").param("size", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/v4/members").param("size", "-1"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/v4/members").param("size", String.valueOf(MemberController.MAX_SLICE_SIZE + 1)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void searchMemberV4_invalidCursor() throws Exception {
+        mockMvc.perform(get("/v4/members").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+        // base64 는 맞지만 내용이 잘못된 커서
+        mockMvc.perform(get("/v4/members").param("cursor", "SUQ6eDox"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void searchMemberV4() throws Exception {
+        mockMvc.perform(get("/v4/members").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").isArray());
+    }
+}
@@ -5,9 +5,12 @@ import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberCursor;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
 import study.querydsl.entity.Member;
@@ -92,4 +95,48 @@ class MemberRepositoryTest {
 //        assertThat(result.getContent()).extracting("username").containsExactly("member1", "member2", "member3");
     }
 
-}
\ No newline at end of file
+    @Test
+    public void searchSliceInvalidSize() {
+        MemberCursor cursor = MemberCursor.first(MemberCursor.SortKey.ID);
+        assertThatThrownBy(() -> memberRepository.searchSlice(new MemberSearchCondition(), cursor, 0))
+                .isInstanceOf(InvalidDataAccessApiUsageException.class);
+    }
+
+    @Test
+    public void searchSlice() {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        for (int i = 0; i < 5; i++) {
+            em.persist(new Member("member" + i, 30 - i % 2 * 10, teamA)); // 나이 30, 20 반복
+        }
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        MemberCursor cursor = MemberCursor.first(MemberCursor.SortKey.AGE);
+
+        Slice<MemberTeamDto> first = memberRepository.searchSlice(condition, cursor, 3);
+        assertThat(first.hasNext()).isTrue();
+        assertThat(first.getContent()).extracting("age").containsExactly(20, 20, 30);
+
+        // 토큰으로 인코딩했다가 복원해도 같은 위치부터 이어서 조회한다
+        String token = MemberCursor.after(MemberCursor.SortKey.AGE, first.getContent().get(2)).encode();
+        Slice<MemberTeamDto> second = memberRepository.searchSlice(condition, MemberCursor.decode(token), 3);
+        assertThat(second.hasNext()).isFalse();
+        assertThat(second.getContent()).extracting("age").containsExactly(30, 30);
+    }
+
+    @Test
+    public void searchPageComplexCountCache() {
+        em.persist(new Member("member1", 10));
+        em.persist(new Member("member2", 20));
+        em.flush();
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        PageRequest pageRequest = PageRequest.of(1, 1);
+        assertThat(memberRepository.searchPageComplex(condition, pageRequest).getTotalElements()).isEqualTo(2);
+
+        // 회원이 추가되면 count 캐시가 무효화된다
+        em.persist(new Member("member3", 30));
+        em.flush();
+        assertThat(memberRepository.searchPageComplex(condition, pageRequest).getTotalElements()).isEqualTo(3);
+    }
+}
@@ -1,22 +1,46 @@
 package study.datajpa.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import jakarta.annotation.PostConstruct;
-import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import study.datajpa.dto.MemberDto;
 import study.datajpa.entity.Member;
 import study.datajpa.repository.MemberRepository;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
 @RestController
-@RequiredArgsConstructor
 public class MemberController {
 
     private final MemberRepository memberRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public MemberController(MemberRepository memberRepository, ObjectMapper objectMapper,
+                            PlatformTransactionManager transactionManager) {
+        this.memberRepository = memberRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
 
     @GetMapping("/members/{id}")
     public String findMember(@PathVariable("id") Long id) {
@@ -29,16 +53,55 @@ public class MemberController {
         return member.getUsername();
     }
 
+    /**
+     * 회원 목록, 엔티티 대신 DTO 컬럼만 조회한다
+     * count=approx 면 count 쿼리 대신 DB 통계의 추정치를 전체 건수로 쓴다
+     */
     @GetMapping("/members")
-    public Page<MemberDto> list(@PageableDefault(size = 5, sort = "username") Pageable pageable) {
-        return memberRepository.findAll(pageable)
-                .map(MemberDto::new);
+    public Page<MemberDto> list(@PageableDefault(size = 5, sort = "username") Pageable pageable,
+                                @RequestParam(value = "count", defaultValue = "exact") String count) {
+        if ("approx".equals(count)) {
+            Slice<MemberDto> slice = memberRepository.findMemberDtoSlice(pageable);
+            return new PageImpl<>(slice.getContent(), pageable, memberRepository.approximateCount());
+        }
+        return memberRepository.findMemberDtoPage(pageable);
+    }
+
+    // 전체 건수가 필요 없는 화면(더보기)용, count 쿼리를 실행하지 않는다
+    @GetMapping("/members/slice")
+    public Slice<MemberDto> slice(@PageableDefault(size = 5, sort = "username") Pageable pageable) {
+        return memberRepository.findMemberDtoSlice(pageable);
+    }
+
+    /**
+     * 전체 회원 export (NDJSON, 한 줄에 회원 하나)
+     * 읽기 전용 트랜잭션에서 Stream 으로 읽으면서 바로 응답에 쓴다 -> 회원 수와 상관없이 메모리가 일정하다
+     */
+    @GetMapping(value = "/members/export", produces = "application/x-ndjson")
+    public StreamingResponseBody export() {
+        ObjectWriter writer = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        return out -> readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<MemberDto> members = memberRepository.streamMemberDto();
+                 SequenceWriter sequenceWriter = writer.withRootValueSeparator("\n").writeValues(out)) {
+                members.forEach(member -> {
+                    try {
+                        sequenceWriter.write(member);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
     }
 
     @PostConstruct
     public void init() {
+        List<Member> members = new ArrayList<>();
         for (int i = 0; i < 100; i++) {
-            memberRepository.save(new Member("user" + i, i));
+            members.add(new Member("user" + i, i));
         }
+        memberRepository.saveAllBatched(members);
     }
 }
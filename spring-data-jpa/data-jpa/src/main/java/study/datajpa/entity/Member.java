@@ -11,7 +11,10 @@ import lombok.*;
 //public class Member extends BaseEntity {
 public class Member  {
 
-    @Id @GeneratedValue
+    // IDENTITY 는 insert 를 해야 id 를 알 수 있어서 JDBC 배치가 안된다 -> 시퀀스를 100개씩 미리 받아온다 (pooled)
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "member_seq_generator")
+    @SequenceGenerator(name = "member_seq_generator", sequenceName = "member_seq", allocationSize = 100)
     @Column(name = "member_id")
     private Long id;
     private String username;
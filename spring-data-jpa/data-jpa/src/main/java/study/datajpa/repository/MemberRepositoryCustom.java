@@ -7,4 +7,24 @@ import java.util.List;
 public interface MemberRepositoryCustom {
 
     List<Member> findMemberCustom();
+
+    /**
+     * 대량 저장, batchSize 건마다 flush(JDBC batch insert) + clear 한다
+     * 저장이 끝나면 이 트랜잭션의 영속성 컨텍스트는 비어 있다 (이전에 조회한 엔티티도 준영속이 된다)
+     * @return 저장한 회원 수
+     */
+    long saveAllBatched(Iterable<Member> members);
+
+    long saveAllBatched(Iterable<Member> members, int batchSize);
+
+    /**
+     * StatelessSession 으로 저장, 영속성 컨텍스트/dirty checking/cascade 없이 insert 만 한다
+     * 같은 트랜잭션의 커넥션을 그대로 쓴다
+     */
+    long saveAllStateless(Iterable<Member> members, int batchSize);
+
+    /**
+     * DB 통계의 대략적인 회원 수, 지원하지 않는 DB 면 count 쿼리로 센다
+     */
+    long approximateCount();
 }
@@ -2,13 +2,24 @@ package study.datajpa.repository;
 
 import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.springframework.transaction.annotation.Transactional;
 import study.datajpa.entity.Member;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.List;
 
+@Slf4j
 @RequiredArgsConstructor
 public class MemberRepositoryImpl implements MemberRepositoryCustom {
 
+    static final int DEFAULT_BATCH_SIZE = 100;
+
     private final EntityManager em;
 
 
@@ -17,4 +28,104 @@ public class MemberRepositoryImpl implements MemberRepositoryCustom {
         return em.createQuery("select m from Member m")
                 .getResultList();
     }
+
+    @Override
+    @Transactional
+    public long saveAllBatched(Iterable<Member> members) {
+        return saveAllBatched(members, DEFAULT_BATCH_SIZE);
+    }
+
+    @Override
+    @Transactional
+    public long saveAllBatched(Iterable<Member> members, int batchSize) {
+        checkBatchSize(batchSize);
+        Session session = em.unwrap(Session.class);
+        Integer previousBatchSize = session.getJdbcBatchSize();
+        session.setJdbcBatchSize(batchSize);
+        try {
+            long count = 0;
+            for (Member member : members) {
+                em.persist(member);
+                if (++count % batchSize == 0) {
+                    // 쌓인 insert 를 배치로 보내고 1차 캐시를 비워서 메모리가 계속 늘지 않게 한다
+                    em.flush();
+                    em.clear();
+                }
+            }
+            em.flush();
+            em.clear();
+            return count;
+        } finally {
+            session.setJdbcBatchSize(previousBatchSize);
+        }
+    }
+
+    @Override
+    @Transactional
+    public long saveAllStateless(Iterable<Member> members, int batchSize) {
+        checkBatchSize(batchSize);
+        Session session = em.unwrap(Session.class);
+        return session.doReturningWork(connection -> {
+            try (StatelessSession statelessSession = session.getSessionFactory()
+                    .withStatelessOptions()
+                    .connection(connection)
+                    .openStatelessSession()) {
+                statelessSession.setJdbcBatchSize(batchSize);
+                long count = 0;
+                for (Member member : members) {
+                    statelessSession.insert(member);
+                    count++;
+                }
+                // 빌린 커넥션으로 연 세션이라 세션이 관리하는 트랜잭션 완료 시점이 없다
+                // 닫기 전에 남은 배치(count % batchSize 건)를 직접 실행하지 않으면 버려질 수 있다
+                ((SharedSessionContractImplementor) statelessSession).getJdbcCoordinator().executeBatch();
+                return count;
+            }
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long approximateCount() {
+        Session session = em.unwrap(Session.class);
+        Long estimate = session.doReturningWork(connection -> {
+            String sql = approximateCountSql(connection.getMetaData().getDatabaseProductName());
+            if (sql == null) {
+                return null;
+            }
+            try (PreparedStatement pstmt = connection.prepareStatement(sql);
+                 ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : null;
+            } catch (SQLException e) {
+                log.debug("approximate count failed, fallback to count query", e);
+                return null;
+            }
+        });
+        if (estimate != null && estimate >= 0) {
+            return estimate;
+        }
+        return em.createQuery("select count(m) from Member m", Long.class).getSingleResult();
+    }
+
+    // 테이블 통계에서 행 수 추정치를 읽는 쿼리
+    private static String approximateCountSql(String databaseProductName) {
+        switch (databaseProductName) {
+            case "H2":
+                return "select row_count_estimate from information_schema.tables" +
+                        " where table_schema = current_schema and table_name = 'MEMBER'";
+            case "PostgreSQL":
+                return "select reltuples::bigint from pg_class where relname = 'member'";
+            case "MySQL":
+                return "select table_rows from information_schema.tables" +
+                        " where table_schema = database() and table_name = 'member'";
+            default:
+                return null;
+        }
+    }
+
+    private static void checkBatchSize(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        }
+    }
 }
@@ -0,0 +1,79 @@
+package study.datajpa.repository;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.dto.MemberDto;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class MemberDtoQueryTest {
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired TeamRepository teamRepository;
+    @Autowired EntityManager em;
+
+    @Test
+    public void pageAndSlice() {
+        saveMembers();
+        long total = memberRepository.count();
+        PageRequest pageRequest = PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "id"));
+
+        Page<MemberDto> page = memberRepository.findMemberDtoPage(pageRequest);
+        Slice<MemberDto> slice = memberRepository.findMemberDtoSlice(pageRequest);
+
+        assertThat(page.getTotalElements()).isEqualTo(total);
+        assertThat(page.getContent()).extracting(MemberDto::getUsername).containsExactly("dto9", "dto8", "dto7");
+        assertThat(page.getContent()).extracting(MemberDto::getTeamName).containsOnly("teamA");
+        assertThat(slice.getContent()).isEqualTo(page.getContent());
+        assertThat(slice.hasNext()).isTrue();
+    }
+
+    @Test
+    public void approximateCount() {
+        saveMembers();
+        assertThat(memberRepository.approximateCount()).isGreaterThanOrEqualTo(0);
+    }
+
+    @Test
+    public void stream() {
+        saveMembers();
+        em.clear();
+
+        List<MemberDto> members;
+        try (Stream<MemberDto> stream = memberRepository.streamMemberDto()) {
+            members = stream.filter(member -> member.getUsername().startsWith("dto"))
+                    .collect(Collectors.toList());
+        }
+
+        assertThat(members).extracting(MemberDto::getUsername)
+                .containsExactly("dto0", "dto1", "dto2", "dto3", "dto4", "dto5", "dto6", "dto7", "dto8", "dto9");
+        // DTO 조회라서 영속성 컨텍스트에 엔티티가 쌓이지 않는다
+        assertThat(em.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    private void saveMembers() {
+        Team team = teamRepository.save(new Team("teamA"));
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            members.add(new Member("dto" + i, i, team));
+        }
+        memberRepository.saveAllBatched(members);
+    }
+}
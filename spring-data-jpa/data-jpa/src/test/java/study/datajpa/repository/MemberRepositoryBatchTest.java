@@ -0,0 +1,96 @@
+package study.datajpa.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+class MemberRepositoryBatchTest {
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired TeamRepository teamRepository;
+    @Autowired EntityManager em;
+    @Autowired EntityManagerFactory emf;
+
+    @Test
+    public void saveAllBatched() {
+        Team team = teamRepository.save(new Team("batchTeam"));
+        em.flush();
+        List<Member> members = createMembers("batch", 1050, team);
+
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            long saved = memberRepository.saveAllBatched(members, 100);
+
+            assertThat(saved).isEqualTo(1050);
+            assertThat(statistics.getEntityInsertCount()).isEqualTo(1050);
+            // 100건씩 batch -> insert statement 11번 + 시퀀스 조회 (allocationSize 100)
+            assertThat(statistics.getPrepareStatementCount()).isLessThan(30);
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+
+        assertThat(em.contains(members.get(0))).isFalse();
+        assertThat(countByUsernamePrefix("batch")).isEqualTo(1050);
+        assertThat(em.find(Member.class, members.get(1049).getId()).getTeam().getName()).isEqualTo("batchTeam");
+    }
+
+    @Test
+    public void saveAllStateless() {
+        List<Member> members = createMembers("stateless", 250, null);
+
+        long saved = memberRepository.saveAllStateless(members, 50);
+
+        assertThat(saved).isEqualTo(250);
+        assertThat(members).allMatch(member -> member.getId() != null);
+        assertThat(countByUsernamePrefix("stateless")).isEqualTo(250);
+    }
+
+    @Test
+    public void saveAllStatelessWithRemainder() {
+        // batchSize 로 나누어 떨어지지 않는 마지막 1건도 들어가야 한다
+        List<Member> members = createMembers("remainder", 251, null);
+
+        long saved = memberRepository.saveAllStateless(members, 50);
+
+        assertThat(saved).isEqualTo(251);
+        assertThat(countByUsernamePrefix("remainder")).isEqualTo(251);
+    }
+
+    @Test
+    public void invalidBatchSize() {
+        assertThatThrownBy(() -> memberRepository.saveAllBatched(List.of(new Member("m")), 0))
+                .isInstanceOf(InvalidDataAccessApiUsageException.class);
+    }
+
+    private long countByUsernamePrefix(String prefix) {
+        return em.createQuery("select count(m) from Member m where m.username like :prefix", Long.class)
+                .setParameter("prefix", prefix + "%")
+                .getSingleResult();
+    }
+
+    private static List<Member> createMembers(String prefix, int size, Team team) {
+        List<Member> members = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            members.add(new Member(prefix + i, i % 100, team));
+        }
+        return members;
+    }
+}
@@ -2,22 +2,38 @@ package hello.jdbc.connection;
 
 import lombok.extern.slf4j.Slf4j;
 
+import javax.sql.DataSource;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
 import static hello.jdbc.connection.ConnectionConst.*;
 
+// DriverManager 로 매번 물리 커넥션을 여는 대신 공유 커넥션 풀에서 빌려준다
+// 반납은 기존과 같이 Connection.close()
+
 @Slf4j
 public class DBConnectionUtil {
 
+    private static final int MAXIMUM_POOL_SIZE = 10;
+
+    // 처음 사용할 때 풀을 만든다 (holder idiom)
+    private static class PoolHolder {
+        private static final SimpleConnectionPool POOL =
+                new SimpleConnectionPool(URL, USERNAME, PASSWORD, MAXIMUM_POOL_SIZE);
+    }
+
     public static Connection getConnection() {
         try {
-            Connection connection = DriverManager.getConnection(URL, USERNAME, PASSWORD);
-            log.info("get connection = {}, class = {}", connection, connection.getClass());
+            Connection connection = PoolHolder.POOL.getConnection();
+            log.debug("get connection = {}, class = {}", connection, connection.getClass());
             return connection;
         } catch (SQLException e) {
             throw new IllegalStateException(e);
         }
     }
+
+    // MemberRepositoryV1, V2 처럼 DataSource 를 받는 코드에 그대로 넘길 수 있다
+    public static DataSource getDataSource() {
+        return PoolHolder.POOL;
+    }
 }
@@ -0,0 +1,452 @@
+package hello.jdbc.connection;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * 간단한 커넥션 풀 (DataSource)
+ * - 유휴 커넥션은 락 없는 deque 에 LIFO 로 보관한다 (최근에 쓴 커넥션을 먼저 재사용)
+ * - 최대 커넥션 수는 Semaphore 허가 수로 제한하고, 허가를 못 받으면 connectionTimeout 까지 기다린다
+ * - 커넥션마다 prepareStatement(sql) 결과를 LRU 로 캐시해서 같은 SQL 은 다시 준비하지 않는다
+ * - 커넥션을 반납할 때 닫지 않은 prepareStatement(sql) 는 풀이 대신 닫는다 (반납 후 statement 프록시도 사용할 수 없다)
+ * - leakDetectionThreshold 가 지나도 반납되지 않은 커넥션은 획득 위치 스택과 함께 경고 로그를 남긴다
+ *
+ * 애플리케이션에는 Connection 프록시를 돌려준다, close() 를 호출하면 물리 커넥션을 닫지 않고 풀에 반납한다
+ */
+@Slf4j
+public class SimpleConnectionPool implements DataSource, AutoCloseable {
+
+    private final String url;
+    private final String username;
+    private final String password;
+    private final int maximumPoolSize;
+
+    private long connectionTimeoutMillis = 30_000;
+    private long leakDetectionThresholdMillis = 0; // 0 이면 사용하지 않음
+    private int statementCacheSize = 32;
+
+    private final ConcurrentLinkedDeque<PooledConnection> idleConnections = new ConcurrentLinkedDeque<>();
+    private final Semaphore permits;
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final LatencyHistogram acquireLatency = new LatencyHistogram();
+    private final LongAdder leakCount = new LongAdder();
+    private volatile ScheduledExecutorService leakDetector;
+    private volatile boolean closed;
+
+    public SimpleConnectionPool(String url, String username, String password, int maximumPoolSize) {
+        if (maximumPoolSize <= 0) {
+            throw new IllegalArgumentException("maximumPoolSize must be positive: " + maximumPoolSize);
+        }
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.maximumPoolSize = maximumPoolSize;
+        this.permits = new Semaphore(maximumPoolSize, true);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("connection pool is closed");
+        }
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(connectionTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLTimeoutException("connection is not available, request timed out after "
+                        + connectionTimeoutMillis + "ms (total=" + totalConnections.get() + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("interrupted while waiting for connection", e);
+        }
+
+        PooledConnection pooled;
+        try {
+            pooled = pollUsable();
+            if (pooled == null) {
+                pooled = new PooledConnection(DriverManager.getConnection(url, username, password));
+                totalConnections.incrementAndGet();
+                log.debug("new physical connection={}, total={}", pooled.physical, totalConnections.get());
+            }
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        acquireLatency.record(System.nanoTime() - start);
+        return pooled.lease();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("use getConnection()");
+    }
+
+    public int getTotalConnections() {
+        return totalConnections.get();
+    }
+
+    public int getIdleConnections() {
+        return idleConnections.size();
+    }
+
+    public int getActiveConnections() {
+        return maximumPoolSize - permits.availablePermits();
+    }
+
+    public long getLeakCount() {
+        return leakCount.sum();
+    }
+
+    // 커넥션 획득 대기 시간(ns) 분포
+    public LatencyHistogram getAcquireLatency() {
+        return acquireLatency;
+    }
+
+    public void setConnectionTimeoutMillis(long connectionTimeoutMillis) {
+        this.connectionTimeoutMillis = connectionTimeoutMillis;
+    }
+
+    public void setLeakDetectionThresholdMillis(long leakDetectionThresholdMillis) {
+        this.leakDetectionThresholdMillis = leakDetectionThresholdMillis;
+    }
+
+    public void setStatementCacheSize(int statementCacheSize) {
+        this.statementCacheSize = statementCacheSize;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        PooledConnection pooled;
+        while ((pooled = idleConnections.pollFirst()) != null) {
+            discard(pooled);
+        }
+        if (leakDetector != null) {
+            leakDetector.shutdownNow();
+        }
+    }
+
+    private PooledConnection pollUsable() {
+        PooledConnection pooled;
+        while ((pooled = idleConnections.pollFirst()) != null) {
+            try {
+                if (!pooled.physical.isClosed()) {
+                    return pooled;
+                }
+            } catch (SQLException e) {
+                log.info("error", e);
+            }
+            discard(pooled);
+        }
+        return null;
+    }
+
+    private void release(PooledConnection pooled) {
+        try {
+            // 다음 사용자가 이전 트랜잭션 상태를 물려받지 않게 되돌린다
+            if (!pooled.physical.getAutoCommit()) {
+                pooled.physical.rollback();
+                pooled.physical.setAutoCommit(true);
+            }
+            if (closed) {
+                discard(pooled);
+            } else {
+                idleConnections.offerFirst(pooled);
+            }
+        } catch (SQLException e) {
+            log.info("discard broken connection={}", pooled.physical, e);
+            discard(pooled);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void discard(PooledConnection pooled) {
+        totalConnections.decrementAndGet();
+        try {
+            pooled.physical.close();
+        } catch (SQLException e) {
+            log.info("error", e);
+        }
+    }
+
+    private ScheduledFuture<?> scheduleLeakDetection(Connection connection) {
+        long threshold = leakDetectionThresholdMillis;
+        if (threshold <= 0) {
+            return null;
+        }
+        Throwable acquiredAt = new Throwable("connection acquired here");
+        return leakDetector().schedule(() -> {
+            leakCount.increment();
+            log.warn("connection leak detection triggered for {}, not returned after {}ms", connection, threshold, acquiredAt);
+        }, threshold, TimeUnit.MILLISECONDS);
+    }
+
+    private ScheduledExecutorService leakDetector() {
+        if (leakDetector == null) {
+            synchronized (this) {
+                if (leakDetector == null) {
+                    leakDetector = Executors.newSingleThreadScheduledExecutor(r -> {
+                        Thread thread = new Thread(r, "connection-leak-detector");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                }
+            }
+        }
+        return leakDetector;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * 물리 커넥션 + 커넥션별 PreparedStatement 캐시
+     */
+    private final class PooledConnection {
+
+        private final Connection physical;
+        // 사용 중이 아닌 statement 만 담는다, 가장 오래 쓰지 않은 것부터 실제로 닫는다
+        private final LinkedHashMap<String, PreparedStatement> statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() > statementCacheSize) {
+                    closeQuietly(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        PooledConnection(Connection physical) {
+            this.physical = physical;
+        }
+
+        Connection lease() {
+            ConnectionHandler handler = new ConnectionHandler(this);
+            Connection proxy = (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(), new Class[]{Connection.class}, handler);
+            handler.leakTask = scheduleLeakDetection(proxy);
+            return proxy;
+        }
+
+        synchronized PreparedStatement takeStatement(String sql) {
+            return statements.remove(sql);
+        }
+
+        synchronized void returnStatement(String sql, PreparedStatement statement) {
+            if (statementCacheSize <= 0 || statements.containsKey(sql)) {
+                closeQuietly(statement);
+                return;
+            }
+            try {
+                statement.clearParameters();
+                statements.put(sql, statement);
+            } catch (SQLException e) {
+                closeQuietly(statement);
+            }
+        }
+
+        private void closeQuietly(PreparedStatement statement) {
+            try {
+                statement.close();
+            } catch (SQLException e) {
+                log.info("error", e);
+            }
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final PooledConnection pooled;
+        private volatile ScheduledFuture<?> leakTask;
+        private volatile boolean closed;
+        // 이번 대여에서 열려 있는 statement, 커넥션을 반납할 때 남아 있으면 닫는다
+        private final List<StatementHandler> openStatements = new ArrayList<>();
+
+        ConnectionHandler(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        if (leakTask != null) {
+                            leakTask.cancel(false);
+                        }
+                        closeOpenStatements();
+                        release(pooled);
+                    }
+                    return null;
+                case "isClosed":
+                    return closed;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + pooled.physical + "]";
+                default:
+            }
+            if (closed) {
+                throw new SQLException("connection is closed");
+            }
+            if ("prepareStatement".equals(method.getName()) && args.length == 1) {
+                String sql = (String) args[0];
+                PreparedStatement statement = pooled.takeStatement(sql);
+                if (statement == null) {
+                    statement = pooled.physical.prepareStatement(sql);
+                }
+                StatementHandler statementHandler = new StatementHandler(this, (Connection) proxy, sql, statement);
+                synchronized (openStatements) {
+                    openStatements.add(statementHandler);
+                }
+                return Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(), new Class[]{PreparedStatement.class},
+                        statementHandler);
+            }
+            return SimpleConnectionPool.invoke(pooled.physical, method, args);
+        }
+
+        void statementClosed(StatementHandler statementHandler) {
+            synchronized (openStatements) {
+                openStatements.remove(statementHandler);
+            }
+            pooled.returnStatement(statementHandler.sql, statementHandler.statement);
+        }
+
+        // ResultSet 이 열려 있을 수 있으므로 캐시에 돌려놓지 않고 물리 statement 를 닫는다
+        private void closeOpenStatements() {
+            List<StatementHandler> remaining;
+            synchronized (openStatements) {
+                remaining = new ArrayList<>(openStatements);
+                openStatements.clear();
+            }
+            for (StatementHandler statementHandler : remaining) {
+                if (statementHandler.markClosed()) {
+                    log.debug("close statement left open on release, sql={}", statementHandler.sql);
+                    pooled.closeQuietly(statementHandler.statement);
+                }
+            }
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+
+        private final ConnectionHandler owner;
+        private final Connection connection;
+        private final String sql;
+        private final PreparedStatement statement;
+        private volatile boolean closed;
+
+        StatementHandler(ConnectionHandler owner, Connection connection, String sql, PreparedStatement statement) {
+            this.owner = owner;
+            this.connection = connection;
+            this.sql = sql;
+            this.statement = statement;
+        }
+
+        // 처음 닫는 쪽만 true
+        synchronized boolean markClosed() {
+            if (closed) {
+                return false;
+            }
+            closed = true;
+            return true;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (markClosed()) {
+                        owner.statementClosed(this);
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || owner.closed;
+                case "getConnection":
+                    return connection;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledStatement[" + statement + "]";
+                default:
+            }
+            if (closed || owner.closed) {
+                throw new SQLException("statement is closed");
+            }
+            return SimpleConnectionPool.invoke(statement, method, args);
+        }
+    }
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return null;
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) {
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return 0;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("not a wrapper for " + iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+}
@@ -0,0 +1,19 @@
+package hello.jdbc.domain;
+
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+public class Transfer {
+
+    private final String fromId;
+    private final String toId;
+    private final int money;
+
+    public Transfer(String fromId, String toId, int money) {
+        this.fromId = fromId;
+        this.toId = toId;
+        this.money = money;
+    }
+}
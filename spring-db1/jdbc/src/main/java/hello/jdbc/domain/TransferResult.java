@@ -0,0 +1,28 @@
+package hello.jdbc.domain;
+
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+public class TransferResult {
+
+    public enum Status {
+        SUCCESS,
+        MEMBER_NOT_FOUND,
+        INSUFFICIENT_MONEY,
+        INVALID_REQUEST
+    }
+
+    private final Transfer transfer;
+    private final Status status;
+
+    public TransferResult(Transfer transfer, Status status) {
+        this.transfer = transfer;
+        this.status = status;
+    }
+
+    public boolean isSuccess() {
+        return status == Status.SUCCESS;
+    }
+}
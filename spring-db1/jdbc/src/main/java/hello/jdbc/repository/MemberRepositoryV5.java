@@ -11,7 +11,7 @@ import org.springframework.jdbc.support.SQLExceptionTranslator;
 
 import javax.sql.DataSource;
 import java.sql.*;
-import java.util.NoSuchElementException;
+import java.util.*;
 
 // JdbcTemplate 사용
 
@@ -58,4 +58,33 @@ public class MemberRepositoryV5 implements MemberRepository {
         String sql = "delete from member where member_id=?";
         template.update(sql, memberId);
     }
+
+    /**
+     * 회원들을 한 번의 select ... for update 로 member_id 순서대로 잠근다
+     * 모든 트랜잭션이 같은 순서로 락을 잡기 때문에 반대 방향 이체가 동시에 실행되어도 교착 상태가 생기지 않는다
+     * 트랜잭션 안에서 호출해야 한다
+     */
+    public Map<String, Member> findAllForUpdate(Collection<String> memberIds) {
+        List<String> ids = memberIds.stream().distinct().sorted().toList();
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        String sql = "select * from member where member_id in (" + String.join(",", Collections.nCopies(ids.size(), "?"))
+                + ") order by member_id for update";
+        Map<String, Member> members = new LinkedHashMap<>();
+        for (Member member : template.query(sql, memberRowMapper(), ids.toArray())) {
+            members.put(member.getMemberId(), member);
+        }
+        return members;
+    }
+
+    /**
+     * 회원별 잔액 증감(delta)을 batch update 한 번으로 반영한다 (member_id 순서)
+     */
+    public void addMoney(Map<String, Integer> deltas) {
+        String sql = "update member set money=money+? where member_id=?";
+        List<Object[]> batchArgs = new ArrayList<>(deltas.size());
+        new TreeMap<>(deltas).forEach((memberId, delta) -> batchArgs.add(new Object[]{delta, memberId}));
+        template.batchUpdate(sql, batchArgs);
+    }
 }
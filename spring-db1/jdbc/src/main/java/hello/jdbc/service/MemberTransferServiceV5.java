@@ -0,0 +1,83 @@
+package hello.jdbc.service;
+
+import hello.jdbc.domain.Member;
+import hello.jdbc.domain.Transfer;
+import hello.jdbc.domain.TransferResult;
+import hello.jdbc.domain.TransferResult.Status;
+import hello.jdbc.repository.MemberRepositoryV5;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// 계좌이체 배치 처리
+// 관련 계좌를 member_id 순서로 한 번에 잠그고(select for update), 잔액 변화는 batch update 한 번으로 반영
+// 이체 건당 조회 2번 + update 2번 -> 배치당 조회 1번 + batch update 1번
+
+@Slf4j
+public class MemberTransferServiceV5 {
+
+    private final MemberRepositoryV5 memberRepository;
+
+    public MemberTransferServiceV5(MemberRepositoryV5 memberRepository) {
+        this.memberRepository = memberRepository;
+    }
+
+    /**
+     * 요청 순서대로 한 건씩 이체한 것과 같은 결과를 만든다
+     * 실패한 이체는 결과에만 남고 나머지 이체는 그대로 반영된다
+     */
+    @Transactional
+    public List<TransferResult> accountTransfers(List<Transfer> transfers) {
+        Set<String> memberIds = new LinkedHashSet<>();
+        for (Transfer transfer : transfers) {
+            memberIds.add(transfer.getFromId());
+            memberIds.add(transfer.getToId());
+        }
+        Map<String, Member> members = memberRepository.findAllForUpdate(memberIds);
+
+        // 메모리에서 잔액을 계산하고 회원별 증감만 모은다
+        Map<String, Integer> balances = new HashMap<>();
+        members.forEach((memberId, member) -> balances.put(memberId, member.getMoney()));
+        Map<String, Integer> deltas = new HashMap<>();
+        List<TransferResult> results = new ArrayList<>(transfers.size());
+        for (Transfer transfer : transfers) {
+            Status status = apply(transfer, balances, deltas);
+            results.add(new TransferResult(transfer, status));
+        }
+
+        deltas.values().removeIf(delta -> delta == 0);
+        if (!deltas.isEmpty()) {
+            memberRepository.addMoney(deltas);
+        }
+        log.info("transfers={}, updatedMembers={}", transfers.size(), deltas.size());
+        return results;
+    }
+
+    private static Status apply(Transfer transfer, Map<String, Integer> balances, Map<String, Integer> deltas) {
+        String fromId = transfer.getFromId();
+        String toId = transfer.getToId();
+        int money = transfer.getMoney();
+        if (money <= 0 || fromId.equals(toId)) {
+            return Status.INVALID_REQUEST;
+        }
+        Integer fromMoney = balances.get(fromId);
+        Integer toMoney = balances.get(toId);
+        if (fromMoney == null || toMoney == null) {
+            return Status.MEMBER_NOT_FOUND;
+        }
+        if (fromMoney < money) {
+            return Status.INSUFFICIENT_MONEY;
+        }
+        balances.put(fromId, fromMoney - money);
+        balances.put(toId, toMoney + money);
+        deltas.merge(fromId, -money, Integer::sum);
+        deltas.merge(toId, money, Integer::sum);
+        return Status.SUCCESS;
+    }
+}
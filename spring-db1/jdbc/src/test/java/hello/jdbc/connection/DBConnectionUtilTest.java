@@ -5,6 +5,7 @@ import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.sql.Connection;
+import java.sql.SQLException;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -12,8 +13,10 @@ import static org.assertj.core.api.Assertions.*;
 public class DBConnectionUtilTest {
 
     @Test
-    void connection() {
-        Connection connection = DBConnectionUtil.getConnection();
-        assertThat(connection).isNotNull();
+    void connection() throws SQLException {
+        // 공유 풀에서 빌린 커넥션이므로 반납한다
+        try (Connection connection = DBConnectionUtil.getConnection()) {
+            assertThat(connection).isNotNull();
+        }
     }
 }
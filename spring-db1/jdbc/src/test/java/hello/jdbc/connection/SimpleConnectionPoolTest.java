@@ -0,0 +1,136 @@
+package hello.jdbc.connection;
+
+import hello.jdbc.domain.Member;
+import hello.jdbc.repository.MemberRepositoryV1;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.*;
+
+// 임베디드 H2 메모리 DB 로 실행
+@Slf4j
+class SimpleConnectionPoolTest {
+
+    private static final String URL = "jdbc:h2:mem:pool;DB_CLOSE_DELAY=-1";
+
+    SimpleConnectionPool pool;
+
+    @BeforeEach
+    void before() throws SQLException {
+        pool = new SimpleConnectionPool(URL, "sa", "", 2);
+        pool.setConnectionTimeoutMillis(200);
+        try (Connection con = pool.getConnection(); Statement stmt = con.createStatement()) {
+            stmt.execute("create table if not exists member (" +
+                    "member_id varchar(10), money integer not null default 0, primary key (member_id))");
+            stmt.execute("delete from member");
+        }
+    }
+
+    @AfterEach
+    void after() {
+        pool.close();
+    }
+
+    @Test
+    void reuseConnection() throws SQLException {
+        Connection con1 = pool.getConnection();
+        Connection physical1 = con1.unwrap(Connection.class);
+        con1.close();
+        assertThat(con1.isClosed()).isTrue();
+
+        Connection con2 = pool.getConnection();
+        assertThat(con2.unwrap(Connection.class)).isSameAs(physical1);
+        assertThat(pool.getTotalConnections()).isEqualTo(1);
+        assertThat(pool.getActiveConnections()).isEqualTo(1);
+        con2.close();
+        assertThat(pool.getAcquireLatency().getCount()).isEqualTo(3);
+    }
+
+    @Test
+    void statementCache() throws SQLException {
+        String sql = "select * from member where member_id = ?";
+        Object first;
+        try (Connection con = pool.getConnection(); PreparedStatement pstmt = con.prepareStatement(sql)) {
+            first = pstmt.unwrap(PreparedStatement.class);
+        }
+        try (Connection con = pool.getConnection(); PreparedStatement pstmt = con.prepareStatement(sql)) {
+            assertThat(pstmt.unwrap(PreparedStatement.class)).isSameAs(first);
+            // 사용 중인 statement 는 다른 호출에 주지 않는다
+            try (PreparedStatement other = con.prepareStatement(sql)) {
+                assertThat(other.unwrap(PreparedStatement.class)).isNotSameAs(first);
+            }
+        }
+    }
+
+    @Test
+    void closeStatementsLeftOpen() throws SQLException {
+        Connection con = pool.getConnection();
+        PreparedStatement pstmt = con.prepareStatement("select * from member where member_id = ?");
+        PreparedStatement physical = pstmt.unwrap(PreparedStatement.class);
+
+        // statement 를 닫지 않고 커넥션만 반납
+        con.close();
+
+        assertThat(physical.isClosed()).isTrue();
+        assertThat(pstmt.isClosed()).isTrue();
+        assertThatThrownBy(() -> pstmt.setString(1, "memberA")).isInstanceOf(SQLException.class);
+        assertThatThrownBy(pstmt::executeQuery).isInstanceOf(SQLException.class);
+
+        // 다음 사용자는 새로 준비된 statement 를 받는다
+        try (Connection con2 = pool.getConnection();
+             PreparedStatement pstmt2 = con2.prepareStatement("select * from member where member_id = ?")) {
+            assertThat(pstmt2.unwrap(PreparedStatement.class)).isNotSameAs(physical);
+            pstmt2.setString(1, "memberA");
+            pstmt2.executeQuery().close();
+        }
+    }
+
+    @Test
+    void timeout() throws SQLException {
+        Connection con1 = pool.getConnection();
+        Connection con2 = pool.getConnection();
+        assertThatThrownBy(() -> pool.getConnection()).isInstanceOf(SQLTimeoutException.class);
+        con1.close();
+        con2.close();
+    }
+
+    @Test
+    void rollbackOnRelease() throws SQLException {
+        MemberRepositoryV1 repository = new MemberRepositoryV1(pool);
+        Connection con = pool.getConnection();
+        con.setAutoCommit(false);
+        try (PreparedStatement pstmt = con.prepareStatement("insert into member(member_id, money) values ('memberA', 1000)")) {
+            pstmt.executeUpdate();
+        }
+        con.close(); // 커밋하지 않고 반납
+
+        try (Connection reused = pool.getConnection()) {
+            assertThat(reused.getAutoCommit()).isTrue();
+        }
+        repository.save(new Member("memberB", 1000));
+        assertThat(repository.findById("memberB").getMoney()).isEqualTo(1000);
+        assertThatThrownBy(() -> repository.findById("memberA")).isInstanceOf(NoSuchElementException.class);
+    }
+
+    @Test
+    void leakDetection() throws Exception {
+        pool.setLeakDetectionThresholdMillis(50);
+        Connection con = pool.getConnection();
+        Thread.sleep(300);
+        assertThat(pool.getLeakCount()).isEqualTo(1);
+        con.close();
+
+        pool.getConnection().close();
+        Thread.sleep(150);
+        assertThat(pool.getLeakCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,121 @@
+package hello.jdbc.service;
+
+import hello.jdbc.domain.Member;
+import hello.jdbc.domain.Transfer;
+import hello.jdbc.domain.TransferResult;
+import hello.jdbc.domain.TransferResult.Status;
+import hello.jdbc.repository.MemberRepositoryV5;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 임베디드 H2 메모리 DB 로 실행
+@Slf4j
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:transfer;DB_CLOSE_DELAY=-1")
+class MemberTransferServiceV5Test {
+
+    @Autowired
+    private MemberRepositoryV5 memberRepository;
+    @Autowired
+    private MemberTransferServiceV5 transferService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @TestConfiguration
+    static class TestConfig {
+
+        private final DataSource dataSource;
+
+        TestConfig(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        @Bean
+        MemberRepositoryV5 memberRepositoryV5() {
+            return new MemberRepositoryV5(dataSource);
+        }
+
+        @Bean
+        MemberTransferServiceV5 memberTransferServiceV5() {
+            return new MemberTransferServiceV5(memberRepositoryV5());
+        }
+    }
+
+    @BeforeEach
+    void before() {
+        jdbcTemplate.execute("create table if not exists member (" +
+                "member_id varchar(10), money integer not null default 0, primary key (member_id))");
+        memberRepository.save(new Member("memberA", 10000));
+        memberRepository.save(new Member("memberB", 10000));
+        memberRepository.save(new Member("memberC", 10000));
+    }
+
+    @AfterEach
+    void after() {
+        jdbcTemplate.update("delete from member");
+    }
+
+    @Test
+    @DisplayName("배치 이체 - 건별 결과")
+    void accountTransfers() {
+        List<TransferResult> results = transferService.accountTransfers(List.of(
+                new Transfer("memberA", "memberB", 2000),
+                new Transfer("memberB", "memberC", 12000),
+                new Transfer("memberC", "memberA", 30000),
+                new Transfer("memberA", "nobody", 1000),
+                new Transfer("memberA", "memberA", 1000)));
+
+        assertThat(results).extracting(TransferResult::getStatus).containsExactly(
+                Status.SUCCESS, Status.SUCCESS, Status.INSUFFICIENT_MONEY, Status.MEMBER_NOT_FOUND, Status.INVALID_REQUEST);
+        assertThat(memberRepository.findById("memberA").getMoney()).isEqualTo(8000);
+        assertThat(memberRepository.findById("memberB").getMoney()).isEqualTo(0);
+        assertThat(memberRepository.findById("memberC").getMoney()).isEqualTo(22000);
+    }
+
+    @Test
+    @DisplayName("반대 방향 배치 이체를 동시에 실행해도 교착 상태 없이 잔액 합이 유지된다")
+    void concurrentOppositeTransfers() throws Exception {
+        int rounds = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        List<Future<?>> futures = new ArrayList<>();
+        futures.add(executor.submit(() -> {
+            for (int i = 0; i < rounds; i++) {
+                transferService.accountTransfers(List.of(
+                        new Transfer("memberA", "memberB", 10), new Transfer("memberC", "memberA", 10)));
+            }
+        }));
+        futures.add(executor.submit(() -> {
+            for (int i = 0; i < rounds; i++) {
+                transferService.accountTransfers(List.of(
+                        new Transfer("memberB", "memberA", 10), new Transfer("memberA", "memberC", 10)));
+            }
+        }));
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        int total = memberRepository.findById("memberA").getMoney()
+                + memberRepository.findById("memberB").getMoney()
+                + memberRepository.findById("memberC").getMoney();
+        assertThat(total).isEqualTo(30000);
+        assertThat(memberRepository.findById("memberA").getMoney()).isEqualTo(10000);
+    }
+}
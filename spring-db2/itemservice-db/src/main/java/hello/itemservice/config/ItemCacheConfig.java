@@ -0,0 +1,18 @@
+package hello.itemservice.config;
+
+import hello.itemservice.repository.cache.ItemCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class ItemCacheConfig {
+
+    @Bean
+    public ItemCache itemCache(@Value("${item.cache.max-items:10000}") int maxItems,
+                               @Value("${item.cache.search-ttl:10s}") Duration searchTtl) {
+        return new ItemCache(maxItems, searchTtl);
+    }
+}
@@ -1,6 +1,8 @@
 package hello.itemservice.config;
 
 import hello.itemservice.repository.ItemRepository;
+import hello.itemservice.repository.cache.CachingItemRepository;
+import hello.itemservice.repository.cache.ItemCache;
 import hello.itemservice.repository.jdbctemplate.JdbcTemplateItemRepositoryV2;
 import hello.itemservice.repository.jdbctemplate.JdbcTemplateItemRepositoryV3;
 import hello.itemservice.service.ItemService;
@@ -8,14 +10,17 @@ import hello.itemservice.service.ItemServiceV1;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 
 import javax.sql.DataSource;
 
 @Configuration
+@Import(ItemCacheConfig.class)
 @RequiredArgsConstructor
 public class JdbcTemplateV3Config {
 
     private final DataSource dataSource;
+    private final ItemCache itemCache;
 
     @Bean
     public ItemService itemService() {
@@ -24,6 +29,6 @@ public class JdbcTemplateV3Config {
 
     @Bean
     public ItemRepository itemRepository() {
-        return new JdbcTemplateItemRepositoryV3(dataSource);
+        return new CachingItemRepository(new JdbcTemplateItemRepositoryV3(dataSource), itemCache);
     }
 }
@@ -1,6 +1,8 @@
 package hello.itemservice.config;
 
 import hello.itemservice.repository.ItemRepository;
+import hello.itemservice.repository.cache.CachingItemRepository;
+import hello.itemservice.repository.cache.ItemCache;
 import hello.itemservice.repository.jpa.JpaItemRepositoryV1;
 import hello.itemservice.repository.mybatis.ItemMapper;
 import hello.itemservice.repository.mybatis.MyBatisItemRepository;
@@ -11,14 +13,18 @@ import lombok.RequiredArgsConstructor;
 import org.mybatis.spring.annotation.MapperScan;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 
 @Configuration
+@Import(ItemCacheConfig.class)
 public class JpaConfig {
 
     private final EntityManager em;
+    private final ItemCache itemCache;
 
-    public JpaConfig(EntityManager em) {
+    public JpaConfig(EntityManager em, ItemCache itemCache) {
         this.em = em;
+        this.itemCache = itemCache;
     }
 
     @Bean
@@ -28,6 +34,6 @@ public class JpaConfig {
 
     @Bean
     public ItemRepository itemRepository() {
-        return new JpaItemRepositoryV1(em);
+        return new CachingItemRepository(new JpaItemRepositoryV1(em), itemCache);
     }
 }
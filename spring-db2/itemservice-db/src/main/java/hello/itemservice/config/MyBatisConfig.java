@@ -1,6 +1,8 @@
 package hello.itemservice.config;
 
 import hello.itemservice.repository.ItemRepository;
+import hello.itemservice.repository.cache.CachingItemRepository;
+import hello.itemservice.repository.cache.ItemCache;
 import hello.itemservice.repository.mybatis.ItemMapper;
 import hello.itemservice.repository.mybatis.MyBatisItemRepository;
 import hello.itemservice.service.ItemService;
@@ -9,13 +11,16 @@ import lombok.RequiredArgsConstructor;
 import org.mybatis.spring.annotation.MapperScan;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 
 @Configuration
+@Import(ItemCacheConfig.class)
 @RequiredArgsConstructor
 @MapperScan("hello.itemservice.repository.mybatis")
 public class MyBatisConfig {
 
     private final ItemMapper itemMapper;
+    private final ItemCache itemCache;
 
     @Bean
     public ItemService itemService() {
@@ -24,6 +29,6 @@ public class MyBatisConfig {
 
     @Bean
     public ItemRepository itemRepository() {
-        return new MyBatisItemRepository(itemMapper);
+        return new CachingItemRepository(new MyBatisItemRepository(itemMapper), itemCache);
     }
 }
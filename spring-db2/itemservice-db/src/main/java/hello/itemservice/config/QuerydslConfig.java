@@ -1,6 +1,8 @@
 package hello.itemservice.config;
 
 import hello.itemservice.repository.ItemRepository;
+import hello.itemservice.repository.cache.CachingItemRepository;
+import hello.itemservice.repository.cache.ItemCache;
 import hello.itemservice.repository.jpa.JpaItemRepositoryV3;
 import hello.itemservice.service.ItemService;
 import hello.itemservice.service.ItemServiceV1;
@@ -8,12 +10,15 @@ import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 
 @Configuration
+@Import(ItemCacheConfig.class)
 @RequiredArgsConstructor
 public class QuerydslConfig {
 
     private final EntityManager em;
+    private final ItemCache itemCache;
 
     @Bean
     public ItemService itemService() {
@@ -22,6 +27,6 @@ public class QuerydslConfig {
 
     @Bean
     public ItemRepository itemRepository() {
-        return new JpaItemRepositoryV3(em);
+        return new CachingItemRepository(new JpaItemRepositoryV3(em), itemCache);
     }
 }
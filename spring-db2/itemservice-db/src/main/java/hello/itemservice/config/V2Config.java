@@ -1,6 +1,9 @@
 package hello.itemservice.config;
 
 import hello.itemservice.repository.ItemRepository;
+import hello.itemservice.repository.cache.CachingItemQueryRepositoryV2;
+import hello.itemservice.repository.cache.CachingItemRepository;
+import hello.itemservice.repository.cache.ItemCache;
 import hello.itemservice.repository.jpa.JpaItemRepositoryV3;
 import hello.itemservice.repository.v2.ItemQueryRepositoryV2;
 import hello.itemservice.repository.v2.ItemRepositoryV2;
@@ -10,13 +13,16 @@ import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 
 @Configuration
+@Import(ItemCacheConfig.class)
 @RequiredArgsConstructor
 public class V2Config {
 
     private final ItemRepositoryV2 itemRepositoryV2; // spring data jpa
     private final EntityManager entityManager;
+    private final ItemCache itemCache;
 
     @Bean
     public ItemService itemService() {
@@ -25,11 +31,11 @@ public class V2Config {
 
     @Bean
     public ItemQueryRepositoryV2 itemQueryRepositoryV2() {
-        return new ItemQueryRepositoryV2(entityManager);
+        return new CachingItemQueryRepositoryV2(entityManager, itemCache);
     }
 
     @Bean
     public ItemRepository itemRepository() {
-        return new JpaItemRepositoryV3(entityManager);
+        return new CachingItemRepository(new JpaItemRepositoryV3(entityManager), itemCache);
     }
 }
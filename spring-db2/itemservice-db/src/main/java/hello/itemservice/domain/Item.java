@@ -1,10 +1,12 @@
 package hello.itemservice.domain;
 
+import hello.itemservice.repository.cache.ItemCacheListener;
 import jakarta.persistence.*;
 import lombok.Data;
 
 @Data
 @Entity
+@EntityListeners(ItemCacheListener.class)
 public class Item {
 
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,27 @@
+package hello.itemservice.repository.cache;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemSearchCond;
+import hello.itemservice.repository.v2.ItemQueryRepositoryV2;
+import jakarta.persistence.EntityManager;
+
+import java.util.List;
+
+/**
+ * ItemQueryRepositoryV2 검색 결과 캐시
+ * ItemServiceV2 는 변경 감지로 수정하므로 무효화는 ItemCacheListener(엔티티 리스너)가 맡는다
+ */
+public class CachingItemQueryRepositoryV2 extends ItemQueryRepositoryV2 {
+
+    private final ItemCache itemCache;
+
+    public CachingItemQueryRepositoryV2(EntityManager em, ItemCache itemCache) {
+        super(em);
+        this.itemCache = itemCache;
+    }
+
+    @Override
+    public List<Item> findAll(ItemSearchCond cond) {
+        return itemCache.findAll(cond, () -> super.findAll(cond));
+    }
+}
@@ -0,0 +1,49 @@
+package hello.itemservice.repository.cache;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemRepository;
+import hello.itemservice.repository.ItemSearchCond;
+import hello.itemservice.repository.ItemUpdateDto;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * ItemRepository 캐시 데코레이터, 실제 저장소(JPA, Querydsl, MyBatis, JdbcTemplate)는 그대로 감싸기만 한다
+ * 쓰기 전후로 무효화한다 (전: 쓰기와 겹친 조회가 캐시를 채우지 못하게, 후: 그사이 채워진 예전 값 제거)
+ */
+public class CachingItemRepository implements ItemRepository {
+
+    private final ItemRepository target;
+    private final ItemCache itemCache;
+
+    public CachingItemRepository(ItemRepository target, ItemCache itemCache) {
+        this.target = target;
+        this.itemCache = itemCache;
+    }
+
+    @Override
+    public Item save(Item item) {
+        itemCache.invalidate(null);
+        Item savedItem = target.save(item);
+        itemCache.invalidate(savedItem.getId());
+        return savedItem;
+    }
+
+    @Override
+    public void update(Long itemId, ItemUpdateDto updateParam) {
+        itemCache.invalidate(itemId);
+        target.update(itemId, updateParam);
+        itemCache.invalidate(itemId);
+    }
+
+    @Override
+    public Optional<Item> findById(Long id) {
+        return itemCache.findById(id, () -> target.findById(id));
+    }
+
+    @Override
+    public List<Item> findAll(ItemSearchCond cond) {
+        return itemCache.findAll(cond, () -> target.findAll(cond));
+    }
+}
@@ -0,0 +1,59 @@
+package hello.itemservice.repository.cache;
+
+/**
+ * TinyLFU 용 접근 빈도 추정기 (count-min sketch)
+ * 키마다 4 개 카운터를 올리고 그중 최솟값을 빈도로 본다, 카운터는 15 에서 멈춘다
+ * 누적 증가 횟수가 sampleSize 에 도달하면 모든 카운터를 절반으로 줄여서 오래된 인기도를 잊는다
+ */
+class FrequencySketch {
+
+    private static final int MAX_COUNT = 15;
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L};
+
+    private final int[] table;
+    private final int mask;
+    private final int sampleSize;
+    private int additions;
+
+    FrequencySketch(int maximumSize) {
+        int size = Integer.highestOneBit(Math.max(maximumSize, 16) * 16 - 1) << 1;
+        this.table = new int[size];
+        this.mask = size - 1;
+        this.sampleSize = maximumSize * 10;
+    }
+
+    void increment(long key) {
+        boolean added = false;
+        for (long seed : SEEDS) {
+            int i = indexOf(key, seed);
+            if (table[i] < MAX_COUNT) {
+                table[i]++;
+                added = true;
+            }
+        }
+        if (added && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    int frequency(long key) {
+        int frequency = MAX_COUNT;
+        for (long seed : SEEDS) {
+            frequency = Math.min(frequency, table[indexOf(key, seed)]);
+        }
+        return frequency;
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] >>>= 1;
+        }
+        additions /= 2;
+    }
+
+    private int indexOf(long key, long seed) {
+        long h = (key + seed) * seed;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,196 @@
+package hello.itemservice.repository.cache;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemSearchCond;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 상품 조회 캐시 (id 단건 near-cache + 검색 조건별 결과 캐시)
+ *
+ * 무효화 규칙
+ * - 쓰기 전후로 generation 을 올린다, 조회한 값은 조회 시작 시점의 generation 이 그대로일 때만 캐시에 넣는다
+ *   -> 쓰기와 겹친 조회가 예전 값을 캐시에 다시 넣지 못한다
+ * - 트랜잭션 안에서 쓰면 커밋/롤백 직후에 한 번 더 비운다, 그 트랜잭션 안의 조회는 캐시를 거치지 않는다
+ *   -> 커밋되지 않은 값이 다른 트랜잭션에 보이지 않고, 커밋 이후에는 예전 값이 남지 않는다
+ *
+ * 엔티티를 그대로 공유하면 호출하는 쪽의 변경이 캐시에 섞이므로 넣을 때와 꺼낼 때 모두 복사한다
+ */
+public class ItemCache {
+
+    private static final int MAX_SEARCH_ENTRIES = 1000;
+
+    private final long searchTtlMillis;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final NearCache<Item> items;
+    private final Map<ItemSearchCond, CachedResult> searches = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    public ItemCache(int maxItems, Duration searchTtl) {
+        this.items = new NearCache<>(maxItems);
+        this.searchTtlMillis = searchTtl.toMillis();
+    }
+
+    public Optional<Item> findById(Long id, Supplier<Optional<Item>> loader) {
+        if (id == null || isWriting()) {
+            return loader.get();
+        }
+        Item cached;
+        lock.lock();
+        try {
+            cached = items.get(id);
+        } finally {
+            lock.unlock();
+        }
+        if (cached != null) {
+            hitCount.increment();
+            return Optional.of(copyOf(cached));
+        }
+
+        missCount.increment();
+        long start = generation.get();
+        Optional<Item> loaded = loader.get();
+        loaded.ifPresent(item -> {
+            Item copy = copyOf(item);
+            lock.lock();
+            try {
+                if (generation.get() == start) {
+                    items.put(id, copy);
+                }
+            } finally {
+                lock.unlock();
+            }
+        });
+        return loaded;
+    }
+
+    public List<Item> findAll(ItemSearchCond cond, Supplier<List<Item>> loader) {
+        if (isWriting()) {
+            return loader.get();
+        }
+        long now = System.currentTimeMillis();
+        CachedResult cached = searches.get(cond);
+        if (cached != null && cached.expiresAt > now) {
+            hitCount.increment();
+            return copyOf(cached.items);
+        }
+
+        missCount.increment();
+        long start = generation.get();
+        List<Item> loaded = loader.get();
+        if (searches.size() >= MAX_SEARCH_ENTRIES) {
+            searches.values().removeIf(result -> result.expiresAt <= now);
+            if (searches.size() >= MAX_SEARCH_ENTRIES) {
+                searches.clear();
+            }
+        }
+        // put 이후에 generation 을 확인하고, 그사이 쓰기가 있었으면 방금 넣은 결과를 되돌린다
+        ItemSearchCond key = new ItemSearchCond(cond.getItemName(), cond.getMaxPrice());
+        CachedResult result = new CachedResult(copyOf(loaded), now + searchTtlMillis);
+        searches.put(key, result);
+        if (generation.get() != start) {
+            searches.remove(key, result);
+        }
+        return loaded;
+    }
+
+    /**
+     * 상품 변경 시 호출한다 (id 가 null 이면 검색 결과만 비운다 - 신규 저장)
+     */
+    public void invalidate(Long id) {
+        evict(id);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        // 트랜잭션당 한 번만 등록한다, 롤백된 값도 남으면 안 되므로 커밋/롤백 모두 비운다
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ItemCache.this);
+                invalidateAll();
+            }
+        });
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        lock.lock();
+        try {
+            items.clear();
+        } finally {
+            lock.unlock();
+        }
+        searches.clear();
+    }
+
+    public ItemCacheStats stats() {
+        int itemSize;
+        lock.lock();
+        try {
+            itemSize = items.size();
+        } finally {
+            lock.unlock();
+        }
+        return new ItemCacheStats(hitCount.sum(), missCount.sum(), itemSize, searches.size());
+    }
+
+    private void evict(Long id) {
+        generation.incrementAndGet();
+        if (id != null) {
+            lock.lock();
+            try {
+                items.remove(id);
+            } finally {
+                lock.unlock();
+            }
+        }
+        // 어떤 검색 결과에 포함될지 알 수 없으므로 검색 결과는 전부 비운다
+        searches.clear();
+    }
+
+    // 현재 트랜잭션에서 상품을 변경했는지
+    private boolean isWriting() {
+        return TransactionSynchronizationManager.hasResource(this);
+    }
+
+    private static List<Item> copyOf(List<Item> items) {
+        List<Item> copies = new ArrayList<>(items.size());
+        for (Item item : items) {
+            copies.add(copyOf(item));
+        }
+        return copies;
+    }
+
+    private static Item copyOf(Item item) {
+        Item copy = new Item(item.getItemName(), item.getPrice(), item.getQuantity());
+        copy.setId(item.getId());
+        return copy;
+    }
+
+    private static class CachedResult {
+        private final List<Item> items;
+        private final long expiresAt;
+
+        CachedResult(List<Item> items, long expiresAt) {
+            this.items = items;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
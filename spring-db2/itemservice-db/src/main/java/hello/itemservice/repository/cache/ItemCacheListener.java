@@ -0,0 +1,25 @@
+package hello.itemservice.repository.cache;
+
+import hello.itemservice.domain.Item;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Item 엔티티 변경 시 캐시 무효화 (변경 감지로 수정하는 경우까지 잡기 위해)
+ * 하이버네이트가 스프링 빈 컨테이너로 리스너를 생성한다, 캐시를 쓰지 않는 설정(MemoryConfig 등)도 있으므로 ObjectProvider 로 받는다
+ */
+@RequiredArgsConstructor
+public class ItemCacheListener {
+
+    private final ObjectProvider<ItemCache> itemCache;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Item item) {
+        itemCache.ifAvailable(cache -> cache.invalidate(item.getId()));
+    }
+}
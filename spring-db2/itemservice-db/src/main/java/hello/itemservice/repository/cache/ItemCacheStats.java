@@ -0,0 +1,26 @@
+package hello.itemservice.repository.cache;
+
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+public class ItemCacheStats {
+
+    private final long hitCount;
+    private final long missCount;
+    private final int itemSize;
+    private final int searchSize;
+
+    public ItemCacheStats(long hitCount, long missCount, int itemSize, int searchSize) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.itemSize = itemSize;
+        this.searchSize = searchSize;
+    }
+
+    public double getHitRatio() {
+        long requestCount = hitCount + missCount;
+        return requestCount == 0 ? 0.0 : (double) hitCount / requestCount;
+    }
+}
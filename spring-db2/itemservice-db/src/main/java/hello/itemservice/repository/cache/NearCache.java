@@ -0,0 +1,79 @@
+package hello.itemservice.repository.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 크기 제한이 있는 W-TinyLFU 방식 캐시
+ * 새 항목은 작은 window LRU(전체의 1%) 에 먼저 들어가고, window 에서 밀려난 항목은
+ * main LRU 의 가장 오래된 항목보다 접근 빈도가 높을 때만 main 에 들어간다 -> 한 번 보고 마는 조회가 인기 항목을 밀어내지 못한다
+ * 스레드 안전하지 않으므로 호출하는 쪽에서 동기화한다
+ */
+class NearCache<V> {
+
+    private final int windowMax;
+    private final int mainMax;
+    private final FrequencySketch sketch;
+    // accessOrder = true -> 맨 앞이 가장 오래 사용하지 않은 항목
+    private final LinkedHashMap<Long, V> window = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<Long, V> main = new LinkedHashMap<>(16, 0.75f, true);
+
+    NearCache(int maximumSize) {
+        if (maximumSize < 2) {
+            throw new IllegalArgumentException("maximumSize must be at least 2: " + maximumSize);
+        }
+        this.windowMax = Math.max(1, maximumSize / 100);
+        this.mainMax = maximumSize - windowMax;
+        this.sketch = new FrequencySketch(maximumSize);
+    }
+
+    V get(long key) {
+        sketch.increment(key);
+        V value = window.get(key);
+        return value != null ? value : main.get(key);
+    }
+
+    void put(long key, V value) {
+        if (window.containsKey(key)) {
+            window.put(key, value);
+            return;
+        }
+        if (main.containsKey(key)) {
+            main.put(key, value);
+            return;
+        }
+        window.put(key, value);
+        if (window.size() <= windowMax) {
+            return;
+        }
+
+        Iterator<Map.Entry<Long, V>> it = window.entrySet().iterator();
+        Map.Entry<Long, V> candidate = it.next();
+        it.remove();
+        if (main.size() < mainMax) {
+            main.put(candidate.getKey(), candidate.getValue());
+            return;
+        }
+        Long victim = main.keySet().iterator().next();
+        if (sketch.frequency(candidate.getKey()) > sketch.frequency(victim)) {
+            main.remove(victim);
+            main.put(candidate.getKey(), candidate.getValue());
+        }
+    }
+
+    void remove(long key) {
+        if (window.remove(key) == null) {
+            main.remove(key);
+        }
+    }
+
+    void clear() {
+        window.clear();
+        main.clear();
+    }
+
+    int size() {
+        return window.size() + main.size();
+    }
+}
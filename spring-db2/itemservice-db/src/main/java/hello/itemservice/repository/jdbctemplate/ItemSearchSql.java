@@ -0,0 +1,95 @@
+package hello.itemservice.repository.jdbctemplate;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemSearchCond;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.util.StringUtils;
+
+/**
+ * 상품 검색 동적 쿼리
+ * 조건 조합(itemName 유무 x maxPrice 유무)은 4가지뿐이라 SQL 을 미리 만들어 두고 꺼내 쓴다
+ * -> 호출마다 문자열을 이어 붙이지 않고, 같은 조합은 항상 같은 SQL 이라 드라이버/DB 의 prepared statement 캐시에 그대로 걸린다
+ */
+final class ItemSearchSql {
+
+    private static final String SELECT = "select id, item_name, price, quantity from item";
+
+    private static final int HAS_NAME = 1;
+    private static final int HAS_PRICE = 2;
+
+    private static final String[] POSITIONAL = build("?", "?");
+    private static final String[] NAMED = build(":itemName", ":maxPrice");
+
+    /**
+     * "select id, item_name, price, quantity ..." 컬럼 순서 그대로 인덱스로 읽는다
+     * (BeanPropertyRowMapper 처럼 행마다 컬럼 이름 -> 프로퍼티를 리플렉션으로 찾지 않는다)
+     */
+    static final RowMapper<Item> ITEM_ROW_MAPPER = (rs, rowNum) -> {
+        Item item = new Item();
+        item.setId(rs.getLong(1));
+        item.setItemName(rs.getString(2));
+        int price = rs.getInt(3);
+        item.setPrice(rs.wasNull() ? null : price);
+        int quantity = rs.getInt(4);
+        item.setQuantity(rs.wasNull() ? null : quantity);
+        return item;
+    };
+
+    private ItemSearchSql() {
+    }
+
+    static String positionalSql(ItemSearchCond cond) {
+        return POSITIONAL[shape(cond)];
+    }
+
+    static Object[] positionalArgs(ItemSearchCond cond) {
+        switch (shape(cond)) {
+            case HAS_NAME:
+                return new Object[]{cond.getItemName()};
+            case HAS_PRICE:
+                return new Object[]{cond.getMaxPrice()};
+            case HAS_NAME | HAS_PRICE:
+                return new Object[]{cond.getItemName(), cond.getMaxPrice()};
+            default:
+                return new Object[0];
+        }
+    }
+
+    static String namedSql(ItemSearchCond cond) {
+        return NAMED[shape(cond)];
+    }
+
+    static SqlParameterSource namedParams(ItemSearchCond cond) {
+        return new MapSqlParameterSource()
+                .addValue("itemName", cond.getItemName())
+                .addValue("maxPrice", cond.getMaxPrice());
+    }
+
+    private static int shape(ItemSearchCond cond) {
+        int shape = 0;
+        if (StringUtils.hasText(cond.getItemName())) {
+            shape |= HAS_NAME;
+        }
+        if (cond.getMaxPrice() != null) {
+            shape |= HAS_PRICE;
+        }
+        return shape;
+    }
+
+    private static String[] build(String itemNameParam, String maxPriceParam) {
+        String[] sql = new String[4];
+        for (int shape = 0; shape < sql.length; shape++) {
+            StringBuilder sb = new StringBuilder(SELECT);
+            if ((shape & HAS_NAME) != 0) {
+                sb.append(" where item_name like concat('%',").append(itemNameParam).append(",'%')");
+            }
+            if ((shape & HAS_PRICE) != 0) {
+                sb.append((shape & HAS_NAME) != 0 ? " and" : " where").append(" price <= ").append(maxPriceParam);
+            }
+            sql[shape] = sb.toString();
+        }
+        return sql;
+    }
+}
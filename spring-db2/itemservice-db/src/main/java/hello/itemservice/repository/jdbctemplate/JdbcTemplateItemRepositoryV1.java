@@ -11,11 +11,9 @@ import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
-import org.springframework.util.StringUtils;
 
 import javax.sql.DataSource;
 import java.sql.PreparedStatement;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -70,43 +68,14 @@ public class JdbcTemplateItemRepositoryV1 implements ItemRepository {
     }
 
     private RowMapper<Item> itemRowMapper() {
-        return (rs, rowNum) -> {
-            Item item = new Item();
-            item.setId(rs.getLong("id"));
-            item.setItemName(rs.getString("item_name"));
-            item.setPrice(rs.getInt("price"));
-            item.setQuantity(rs.getInt("quantity"));
-            return item;
-        };
+        return ItemSearchSql.ITEM_ROW_MAPPER;
     }
 
     @Override
     public List<Item> findAll(ItemSearchCond cond) {
-        String itemName = cond.getItemName();
-        Integer maxPrice = cond.getMaxPrice();
-
-        String sql = "select id, item_name, price, quantity from item";
-        //동적 쿼리
-        if (StringUtils.hasText(itemName) || maxPrice != null) {
-            sql += " where";
-        }
-
-        boolean andFlag = false;
-        List<Object> param = new ArrayList<>();
-        if (StringUtils.hasText(itemName)) {
-            sql += " item_name like concat('%',?,'%')";
-            param.add(itemName);
-            andFlag = true;
-        }
-
-        if (maxPrice != null) {
-            if (andFlag) {
-                sql += " and";
-            }
-            sql += " price <= ?";
-            param.add(maxPrice);
-        }
-        log.info("sql={}", sql);
-        return template.query(sql, itemRowMapper(), param.toArray());
+        //동적 쿼리 - 조건 조합별로 미리 만든 SQL 사용
+        String sql = ItemSearchSql.positionalSql(cond);
+        log.debug("sql={}", sql);
+        return template.query(sql, itemRowMapper(), ItemSearchSql.positionalArgs(cond));
     }
 }
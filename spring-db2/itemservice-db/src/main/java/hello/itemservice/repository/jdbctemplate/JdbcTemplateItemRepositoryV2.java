@@ -6,7 +6,6 @@ import hello.itemservice.repository.ItemSearchCond;
 import hello.itemservice.repository.ItemUpdateDto;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.EmptyResultDataAccessException;
-import org.springframework.jdbc.core.BeanPropertyRowMapper;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.BeanPropertySqlParameterSource;
@@ -16,7 +15,6 @@ import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
-import org.springframework.util.StringUtils;
 
 import javax.sql.DataSource;
 import java.sql.PreparedStatement;
@@ -82,30 +80,13 @@ public class JdbcTemplateItemRepositoryV2 implements ItemRepository {
 
     @Override
     public List<Item> findAll(ItemSearchCond cond) {
-        Integer maxPrice = cond.getMaxPrice();
-        String itemName = cond.getItemName();
-        SqlParameterSource param = new BeanPropertySqlParameterSource(cond);
-        String sql = "select id, item_name, price, quantity from item";
-        //동적 쿼리
-        if (StringUtils.hasText(itemName) || maxPrice != null) {
-            sql += " where";
-        }
-        boolean andFlag = false;
-        if (StringUtils.hasText(itemName)) {
-            sql += " item_name like concat('%',:itemName,'%')";
-            andFlag = true;
-        }
-        if (maxPrice != null) {
-            if (andFlag) {
-                sql += " and";
-            }
-            sql += " price <= :maxPrice";
-        }
-        log.info("sql={}", sql);
-        return template.query(sql, param, itemRowMapper());
+        //동적 쿼리 - 조건 조합별로 미리 만든 SQL 사용
+        String sql = ItemSearchSql.namedSql(cond);
+        log.debug("sql={}", sql);
+        return template.query(sql, ItemSearchSql.namedParams(cond), itemRowMapper());
     }
 
     private RowMapper<Item> itemRowMapper() {
-        return BeanPropertyRowMapper.newInstance(Item.class); //camel 변환 지원
+        return ItemSearchSql.ITEM_ROW_MAPPER; // 컬럼 순서 기반, 리플렉션 없음
     }
 }
@@ -8,27 +8,55 @@ import org.springframework.stereotype.Repository;
 import org.springframework.util.ObjectUtils;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
+/**
+ * 동시성을 고려한 메모리 저장소 (부하 테스트용 대역)
+ * - 조회는 락 없이 동시성 컬렉션만 읽는다
+ * - 저장/수정은 인덱스를 함께 바꿔야 하므로 writeLock 으로 직렬화한다
+ * - maxPrice 조건은 가격 정렬 인덱스, itemName 조건은 n-gram(1~3글자) 인덱스로 후보를 좁힌 뒤 실제 값으로 한 번 더 검증한다
+ */
 @Repository
 public class MemoryItemRepository implements ItemRepository {
 
-    private static final Map<Long, Item> store = new HashMap<>(); //static
-    private static long sequence = 0L; //static
+    private static final int MAX_GRAM = 3;
+
+    private static final Map<Long, Item> store = new ConcurrentHashMap<>(); //static
+    private static final AtomicLong sequence = new AtomicLong(); //static
+
+    // (price, id) 오름차순
+    private static final NavigableSet<PriceKey> priceIndex = new ConcurrentSkipListSet<>();
+    // n-gram -> item id
+    private static final Map<String, Set<Long>> nameIndex = new ConcurrentHashMap<>();
+    private static final Object writeLock = new Object();
 
     @Override
     public Item save(Item item) {
-        item.setId(++sequence);
-        store.put(item.getId(), item);
+        item.setId(sequence.incrementAndGet());
+        synchronized (writeLock) {
+            store.put(item.getId(), item);
+            addIndex(item.getId(), item.getItemName(), item.getPrice());
+        }
         return item;
     }
 
     @Override
     public void update(Long itemId, ItemUpdateDto updateParam) {
-        Item findItem = findById(itemId).orElseThrow();
-        findItem.setItemName(updateParam.getItemName());
-        findItem.setPrice(updateParam.getPrice());
-        findItem.setQuantity(updateParam.getQuantity());
+        synchronized (writeLock) {
+            Item findItem = findById(itemId).orElseThrow();
+            String oldName = findItem.getItemName();
+            Integer oldPrice = findItem.getPrice();
+
+            // 새 인덱스를 먼저 추가하고 기존 인덱스를 지운다 -> 동시에 조회해도 후보에서 빠지는 순간이 없다
+            addIndex(itemId, updateParam.getItemName(), updateParam.getPrice());
+            findItem.setItemName(updateParam.getItemName());
+            findItem.setPrice(updateParam.getPrice());
+            findItem.setQuantity(updateParam.getQuantity());
+            removeIndex(itemId, oldName, oldPrice, updateParam.getItemName(), updateParam.getPrice());
+        }
     }
 
     @Override
@@ -40,23 +68,135 @@ public class MemoryItemRepository implements ItemRepository {
     public List<Item> findAll(ItemSearchCond cond) {
         String itemName = cond.getItemName();
         Integer maxPrice = cond.getMaxPrice();
-        return store.values().stream()
-                .filter(item -> {
-                    if (ObjectUtils.isEmpty(itemName)) {
-                        return true;
-                    }
-                    return item.getItemName().contains(itemName);
-                }).filter(item -> {
-                    if (maxPrice == null) {
-                        return true;
-                    }
-                    return item.getPrice() <= maxPrice;
-                })
+        boolean hasName = !ObjectUtils.isEmpty(itemName);
+
+        Collection<Item> candidates;
+        if (hasName) {
+            candidates = findByNameIndex(itemName);
+        } else if (maxPrice != null) {
+            candidates = findByPriceIndex(maxPrice);
+        } else {
+            candidates = store.values();
+        }
+
+        return candidates.stream()
+                .filter(item -> !hasName || (item.getItemName() != null && item.getItemName().contains(itemName)))
+                .filter(item -> maxPrice == null || (item.getPrice() != null && item.getPrice() <= maxPrice))
+                .sorted(Comparator.comparing(Item::getId))
                 .collect(Collectors.toList());
     }
 
     public void clearStore() {
-        store.clear();
+        synchronized (writeLock) {
+            store.clear();
+            priceIndex.clear();
+            nameIndex.clear();
+        }
+    }
+
+    private List<Item> findByNameIndex(String itemName) {
+        Set<Long> ids;
+        if (itemName.length() <= MAX_GRAM) {
+            ids = nameIndex.getOrDefault(itemName, Collections.emptySet());
+        } else {
+            // 검색어의 모든 3-gram 을 포함하는 상품만 후보, 가장 작은 posting 부터 교집합
+            List<Set<Long>> postings = new ArrayList<>();
+            for (int i = 0; i + MAX_GRAM <= itemName.length(); i++) {
+                postings.add(nameIndex.getOrDefault(itemName.substring(i, i + MAX_GRAM), Collections.emptySet()));
+            }
+            postings.sort(Comparator.comparingInt(Set::size));
+            ids = new HashSet<>(postings.get(0));
+            for (int i = 1; i < postings.size() && !ids.isEmpty(); i++) {
+                ids.retainAll(postings.get(i));
+            }
+        }
+        return toItems(ids);
+    }
+
+    private List<Item> findByPriceIndex(int maxPrice) {
+        List<Long> ids = priceIndex.headSet(new PriceKey(maxPrice, Long.MAX_VALUE), true).stream()
+                .map(key -> key.id)
+                .collect(Collectors.toList());
+        return toItems(ids);
+    }
+
+    private List<Item> toItems(Collection<Long> ids) {
+        List<Item> items = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Item item = store.get(id);
+            if (item != null) {
+                items.add(item);
+            }
+        }
+        return items;
     }
 
+    private void addIndex(Long id, String itemName, Integer price) {
+        if (price != null) {
+            priceIndex.add(new PriceKey(price, id));
+        }
+        for (String gram : grams(itemName)) {
+            nameIndex.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    // 새 값에도 남아 있어야 하는 인덱스는 지우지 않는다
+    private void removeIndex(Long id, String oldName, Integer oldPrice, String newName, Integer newPrice) {
+        if (oldPrice != null && !oldPrice.equals(newPrice)) {
+            priceIndex.remove(new PriceKey(oldPrice, id));
+        }
+        Set<String> remaining = grams(newName);
+        for (String gram : grams(oldName)) {
+            if (remaining.contains(gram)) {
+                continue;
+            }
+            nameIndex.computeIfPresent(gram, (key, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    private static Set<String> grams(String itemName) {
+        if (itemName == null) {
+            return Collections.emptySet();
+        }
+        Set<String> grams = new HashSet<>();
+        for (int n = 1; n <= MAX_GRAM; n++) {
+            for (int i = 0; i + n <= itemName.length(); i++) {
+                grams.add(itemName.substring(i, i + n));
+            }
+        }
+        return grams;
+    }
+
+    private static final class PriceKey implements Comparable<PriceKey> {
+        private final int price;
+        private final long id;
+
+        PriceKey(int price, long id) {
+            this.price = price;
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(PriceKey o) {
+            int result = Integer.compare(price, o.price);
+            return result != 0 ? result : Long.compare(id, o.id);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof PriceKey)) {
+                return false;
+            }
+            PriceKey other = (PriceKey) o;
+            return price == other.price && id == other.id;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(price, id);
+        }
+    }
 }
@@ -0,0 +1,26 @@
+package hello.itemservice.web;
+
+import hello.itemservice.repository.cache.ItemCache;
+import hello.itemservice.repository.cache.ItemCacheStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+public class ItemCacheController {
+
+    // 캐시를 쓰지 않는 설정(MemoryConfig 등)이면 빈이 없다
+    private final ObjectProvider<ItemCache> itemCache;
+
+    @GetMapping("/item-cache/stats")
+    public ResponseEntity<ItemCacheStats> stats() {
+        ItemCache cache = itemCache.getIfAvailable();
+        if (cache == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(cache.stats());
+    }
+}
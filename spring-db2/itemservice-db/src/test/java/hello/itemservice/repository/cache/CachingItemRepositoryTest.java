@@ -0,0 +1,153 @@
+package hello.itemservice.repository.cache;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemRepository;
+import hello.itemservice.repository.ItemSearchCond;
+import hello.itemservice.repository.ItemUpdateDto;
+import hello.itemservice.repository.memory.MemoryItemRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CachingItemRepositoryTest {
+
+    MemoryItemRepository memoryRepository = new MemoryItemRepository();
+    CountingRepository target = new CountingRepository(memoryRepository);
+    ItemCache itemCache = new ItemCache(100, Duration.ofMinutes(1));
+    ItemRepository repository = new CachingItemRepository(target, itemCache);
+
+    @AfterEach
+    void afterEach() {
+        memoryRepository.clearStore();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void findById() {
+        Item item = repository.save(new Item("itemA", 10000, 10));
+
+        repository.findById(item.getId());
+        Item found = repository.findById(item.getId()).orElseThrow();
+        assertThat(found).isEqualTo(item);
+        assertThat(target.findByIdCount.get()).isEqualTo(1);
+
+        // 꺼낸 객체를 바꿔도 캐시에는 영향이 없다
+        found.setPrice(0);
+        assertThat(repository.findById(item.getId()).orElseThrow().getPrice()).isEqualTo(10000);
+
+        repository.update(item.getId(), new ItemUpdateDto("itemB", 20000, 20));
+        assertThat(repository.findById(item.getId()).orElseThrow().getItemName()).isEqualTo("itemB");
+        assertThat(target.findByIdCount.get()).isEqualTo(2);
+
+        ItemCacheStats stats = itemCache.stats();
+        assertThat(stats.getHitCount()).isEqualTo(2);
+        assertThat(stats.getMissCount()).isEqualTo(2);
+        assertThat(stats.getHitRatio()).isEqualTo(0.5);
+    }
+
+    @Test
+    void findAll() {
+        Item itemA = repository.save(new Item("itemA", 10000, 10));
+        ItemSearchCond cond = new ItemSearchCond("item", null);
+
+        assertThat(repository.findAll(cond)).containsExactly(itemA);
+        assertThat(repository.findAll(new ItemSearchCond("item", null))).containsExactly(itemA);
+        assertThat(target.findAllCount.get()).isEqualTo(1);
+
+        // 저장하면 검색 결과 캐시가 비워진다
+        Item itemB = repository.save(new Item("itemB", 20000, 20));
+        assertThat(repository.findAll(cond)).containsExactly(itemA, itemB);
+        assertThat(target.findAllCount.get()).isEqualTo(2);
+    }
+
+    @Test
+    void invalidateAfterCompletion() {
+        Item item = repository.save(new Item("itemA", 10000, 10));
+        repository.findById(item.getId());
+
+        TransactionSynchronizationManager.initSynchronization();
+        repository.update(item.getId(), new ItemUpdateDto("itemB", 20000, 20));
+
+        // 변경한 트랜잭션 안의 조회는 캐시를 거치지 않는다
+        repository.findById(item.getId());
+        repository.findById(item.getId());
+        assertThat(target.findByIdCount.get()).isEqualTo(3);
+        assertThat(itemCache.stats().getItemSize()).isZero();
+
+        // 롤백되었다고 치고 값을 되돌려도 완료 시점에 캐시가 비워진다
+        memoryRepository.update(item.getId(), new ItemUpdateDto("itemA", 10000, 10));
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+
+        assertThat(repository.findById(item.getId()).orElseThrow().getItemName()).isEqualTo("itemA");
+    }
+
+    @Test
+    void admission() {
+        NearCache<String> cache = new NearCache<>(100);
+        // 자주 조회되는 항목
+        for (long key = 0; key < 99; key++) {
+            cache.put(key, "hot");
+            for (int i = 0; i < 5; i++) {
+                cache.get(key);
+            }
+        }
+        // 한 번씩만 보는 항목들은 자주 조회되는 항목을 밀어내지 못한다
+        for (long key = 1000; key < 1300; key++) {
+            cache.get(key);
+            cache.put(key, "cold");
+        }
+        int hot = 0;
+        for (long key = 0; key < 99; key++) {
+            if (cache.get(key) != null) {
+                hot++;
+            }
+        }
+        assertThat(hot).isGreaterThanOrEqualTo(98);
+        assertThat(cache.size()).isLessThanOrEqualTo(100);
+    }
+
+    static class CountingRepository implements ItemRepository {
+        private final ItemRepository target;
+        final AtomicInteger findByIdCount = new AtomicInteger();
+        final AtomicInteger findAllCount = new AtomicInteger();
+
+        CountingRepository(ItemRepository target) {
+            this.target = target;
+        }
+
+        @Override
+        public Item save(Item item) {
+            return target.save(item);
+        }
+
+        @Override
+        public void update(Long itemId, ItemUpdateDto updateParam) {
+            target.update(itemId, updateParam);
+        }
+
+        @Override
+        public Optional<Item> findById(Long id) {
+            findByIdCount.incrementAndGet();
+            return target.findById(id);
+        }
+
+        @Override
+        public List<Item> findAll(ItemSearchCond cond) {
+            findAllCount.incrementAndGet();
+            return target.findAll(cond);
+        }
+    }
+}
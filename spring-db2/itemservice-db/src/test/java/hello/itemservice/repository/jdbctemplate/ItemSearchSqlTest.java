@@ -0,0 +1,76 @@
+package hello.itemservice.repository.jdbctemplate;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemRepository;
+import hello.itemservice.repository.ItemSearchCond;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemSearchSqlTest {
+
+    EmbeddedDatabase dataSource;
+
+    @BeforeEach
+    void before() {
+        dataSource = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("schema.sql")
+                .build();
+    }
+
+    @AfterEach
+    void after() {
+        dataSource.shutdown();
+    }
+
+    @Test
+    void sqlShapes() {
+        assertThat(ItemSearchSql.positionalSql(new ItemSearchCond(null, null)))
+                .isEqualTo("select id, item_name, price, quantity from item");
+        assertThat(ItemSearchSql.positionalSql(new ItemSearchCond("", 1000)))
+                .isEqualTo("select id, item_name, price, quantity from item where price <= ?");
+        assertThat(ItemSearchSql.namedSql(new ItemSearchCond("item", 1000)))
+                .isEqualTo("select id, item_name, price, quantity from item where item_name like concat('%',:itemName,'%') and price <= :maxPrice");
+        assertThat(ItemSearchSql.positionalArgs(new ItemSearchCond("item", null))).containsExactly("item");
+
+        // 같은 조합이면 같은 SQL 객체를 재사용한다
+        assertThat(ItemSearchSql.namedSql(new ItemSearchCond("a", null)))
+                .isSameAs(ItemSearchSql.namedSql(new ItemSearchCond("b", null)));
+    }
+
+    @Test
+    void findAll() {
+        findAll(new JdbcTemplateItemRepositoryV1(dataSource));
+        findAll(new JdbcTemplateItemRepositoryV2(dataSource));
+        findAll(new JdbcTemplateItemRepositoryV3(dataSource));
+    }
+
+    private void findAll(ItemRepository repository) {
+        new JdbcTemplate(dataSource).update("delete from item");
+        Item item1 = repository.save(new Item("itemA-1", 10000, 10));
+        Item item2 = repository.save(new Item("itemA-2", 20000, 20));
+        Item item3 = repository.save(new Item("itemB-1", 30000, 30));
+
+        test(repository, null, null, item1, item2, item3);
+        test(repository, "", null, item1, item2, item3);
+        test(repository, "itemA", null, item1, item2);
+        test(repository, null, 10000, item1);
+        test(repository, "itemA", 10000, item1);
+        assertThat(repository.findById(item3.getId())).contains(item3);
+    }
+
+    private void test(ItemRepository repository, String itemName, Integer maxPrice, Item... items) {
+        List<Item> result = repository.findAll(new ItemSearchCond(itemName, maxPrice));
+        assertThat(result).containsExactly(items);
+    }
+}
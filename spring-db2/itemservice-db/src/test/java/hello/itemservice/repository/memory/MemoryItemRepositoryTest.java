@@ -0,0 +1,80 @@
+package hello.itemservice.repository.memory;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemSearchCond;
+import hello.itemservice.repository.ItemUpdateDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemoryItemRepositoryTest {
+
+    MemoryItemRepository itemRepository = new MemoryItemRepository();
+
+    @AfterEach
+    void afterEach() {
+        itemRepository.clearStore();
+    }
+
+    @Test
+    void findItemsAfterUpdate() {
+        //given
+        Item item1 = itemRepository.save(new Item("itemA-1", 10000, 10));
+        Item item2 = itemRepository.save(new Item("itemA-2", 20000, 20));
+        Item item3 = itemRepository.save(new Item("itemB-1", 30000, 30));
+
+        //when
+        itemRepository.update(item2.getId(), new ItemUpdateDto("itemC-2", 5000, 20));
+
+        //then 이름, 가격 인덱스 모두 수정된 값으로 조회된다
+        assertThat(findAll("itemA", null)).containsExactly(item1);
+        assertThat(findAll("temC", null)).containsExactly(item2);
+        assertThat(findAll("C", null)).containsExactly(item2);
+        assertThat(findAll(null, 10000)).containsExactly(item1, item2);
+        assertThat(findAll("-1", 20000)).containsExactly(item1);
+        assertThat(findAll(null, null)).containsExactly(item1, item2, item3);
+    }
+
+    @Test
+    void concurrentSave() throws Exception {
+        int threads = 8;
+        int perThread = 1000;
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    ids.add(itemRepository.save(new Item("item" + i, i, 1)).getId());
+                }
+            }));
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        // 작업 중 예외가 나면 get() 에서 다시 던져진다
+        for (Future<?> future : futures) {
+            future.get();
+        }
+
+        // id 가 중복 없이 발급되고 인덱스에도 모두 반영된다
+        assertThat(ids).hasSize(threads * perThread);
+        assertThat(findAll(null, null)).hasSize(threads * perThread);
+        assertThat(findAll("item999", null)).hasSize(threads);
+        assertThat(findAll(null, 9)).hasSize(threads * 10);
+    }
+
+    private List<Item> findAll(String itemName, Integer maxPrice) {
+        return itemRepository.findAll(new ItemSearchCond(itemName, maxPrice));
+    }
+}
@@ -0,0 +1,31 @@
+package hello.springtx.propagation;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 아직 Log 테이블로 옮기지 않은 로그 (transactional outbox)
+ * 회원 가입 트랜잭션 안에서 insert 되고, LogOutboxDispatcher 가 모아서 Log 로 옮긴 뒤 지운다
+ */
+@Entity
+@Getter @Setter
+public class LogOutbox {
+
+    @Id
+    @GeneratedValue
+    private Long id;
+    private String message;
+    private long createdAt; // epoch millis
+    private int attempts;
+
+    public LogOutbox() {
+    }
+
+    public LogOutbox(String message, long createdAt) {
+        this.message = message;
+        this.createdAt = createdAt;
+    }
+}
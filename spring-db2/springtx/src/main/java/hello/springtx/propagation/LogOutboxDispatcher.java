@@ -0,0 +1,192 @@
+package hello.springtx.propagation;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * outbox 에 쌓인 로그를 백그라운드에서 Log 테이블로 옮긴다
+ * - 워커 parallelism 개가 각자 맡은 파티션에서 batchSize 개씩 잠그고 가져와서 트랜잭션 하나로 insert + delete
+ * - 잠긴 행은 건너뛰고, delete 건수가 맞지 않으면 롤백하므로 같은 행이 Log 로 두 번 옮겨지지 않는다
+ * - 배치가 실패하면 한 건씩 다시 시도하고, 실패한 건은 attempts 를 올린다 (maxAttempts 까지)
+ */
+@Slf4j
+@Component
+public class LogOutboxDispatcher {
+
+    private final LogOutboxRepository outboxRepository;
+    private final EntityManager em;
+    private final TransactionTemplate txTemplate;
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final int parallelism;
+    private final int maxAttempts;
+    private final long pollIntervalMillis;
+
+    private final LongAdder dispatchedCount = new LongAdder();
+    private final LongAdder batchCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private final LongAdder totalLagMillis = new LongAdder();
+    private final AtomicLong maxLagMillis = new AtomicLong();
+    private final LongAdder totalBatchNanos = new LongAdder();
+
+    private ScheduledExecutorService workers;
+
+    public LogOutboxDispatcher(LogOutboxRepository outboxRepository, EntityManager em,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${log.outbox.enabled:true}") boolean enabled,
+                               @Value("${log.outbox.batch-size:500}") int batchSize,
+                               @Value("${log.outbox.parallelism:2}") int parallelism,
+                               @Value("${log.outbox.max-attempts:3}") int maxAttempts,
+                               @Value("${log.outbox.poll-interval:200ms}") Duration pollInterval) {
+        this.outboxRepository = outboxRepository;
+        this.em = em;
+        this.txTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+        this.maxAttempts = maxAttempts;
+        this.pollIntervalMillis = pollInterval.toMillis();
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        workers = Executors.newScheduledThreadPool(parallelism, r -> {
+            Thread thread = new Thread(r, "log-outbox-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int partition = 0; partition < parallelism; partition++) {
+            int p = partition;
+            workers.scheduleWithFixedDelay(() -> drain(p, parallelism),
+                    pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (workers != null) {
+            workers.shutdown();
+            workers.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    // 현재 쌓여 있는 outbox 를 호출한 스레드에서 모두 옮긴다 (워커가 잡고 있는 행은 건너뛴다)
+    public void dispatchAll() {
+        drain(0, 1);
+    }
+
+    public LogOutboxStats stats() {
+        long dispatched = dispatchedCount.sum();
+        long batches = batchCount.sum();
+        return new LogOutboxStats(dispatched, batches, failedCount.sum(),
+                dispatched == 0 ? 0 : (double) totalLagMillis.sum() / dispatched,
+                maxLagMillis.get(),
+                batches == 0 ? 0 : totalBatchNanos.sum() / 1_000_000.0 / batches);
+    }
+
+    private void drain(int partition, int partitions) {
+        try {
+            int moved;
+            do {
+                moved = dispatchBatch(partition, partitions);
+            } while (moved == batchSize);
+        } catch (RuntimeException e) {
+            log.error("log outbox dispatch failed, partition={}", partition, e);
+        }
+    }
+
+    // 잠그고 가져오기 + insert + delete 를 한 트랜잭션에서 한다 (잠금이 옮길 때까지 유지된다)
+    private int dispatchBatch(int partition, int partitions) {
+        long start = System.nanoTime();
+        List<LogOutbox> batch = new ArrayList<>(batchSize);
+        try {
+            txTemplate.executeWithoutResult(status -> {
+                batch.addAll(outboxRepository.claimBatch(partition, partitions, maxAttempts, batchSize));
+                if (!batch.isEmpty()) {
+                    moveToLog(batch);
+                }
+            });
+        } catch (RuntimeException e) {
+            if (batch.isEmpty()) {
+                throw e;
+            }
+            log.warn("log outbox batch failed, retry one by one. size={}", batch.size(), e);
+            for (LogOutbox outbox : batch) {
+                dispatchOne(outbox);
+            }
+            return batch.size();
+        }
+        if (!batch.isEmpty()) {
+            record(batch, start);
+        }
+        return batch.size();
+    }
+
+    private void dispatchOne(LogOutbox outbox) {
+        long start = System.nanoTime();
+        try {
+            Boolean moved = txTemplate.execute(status -> {
+                LogOutbox claimed = outboxRepository.claim(outbox.getId());
+                if (claimed == null) {
+                    return false;
+                }
+                moveToLog(List.of(claimed));
+                return true;
+            });
+            if (Boolean.TRUE.equals(moved)) {
+                record(List.of(outbox), start);
+            }
+        } catch (RuntimeException e) {
+            log.warn("log outbox dispatch failed. id={}, attempts={}", outbox.getId(), outbox.getAttempts() + 1, e);
+            txTemplate.executeWithoutResult(status -> outboxRepository.incrementAttempts(outbox.getId()));
+            if (outbox.getAttempts() + 1 >= maxAttempts) {
+                failedCount.increment();
+            }
+        }
+    }
+
+    private void moveToLog(List<LogOutbox> batch) {
+        List<Long> ids = new ArrayList<>(batch.size());
+        for (LogOutbox outbox : batch) {
+            em.persist(new Log(outbox.getMessage()));
+            ids.add(outbox.getId());
+        }
+        em.flush();
+        int deleted = outboxRepository.delete(ids);
+        if (deleted != ids.size()) {
+            // 다른 곳에서 먼저 옮긴 행이 섞여 있다 -> 예외로 롤백해서 Log 중복 insert 를 막는다
+            throw new IllegalStateException("log outbox rows already dispatched. expected=" + ids.size() + ", deleted=" + deleted);
+        }
+    }
+
+    private void record(List<LogOutbox> batch, long startNanos) {
+        long now = System.currentTimeMillis();
+        for (LogOutbox outbox : batch) {
+            long lag = now - outbox.getCreatedAt();
+            totalLagMillis.add(lag);
+            maxLagMillis.accumulateAndGet(lag, Math::max);
+        }
+        dispatchedCount.add(batch.size());
+        batchCount.increment();
+        totalBatchNanos.add(System.nanoTime() - startNanos);
+    }
+}
@@ -0,0 +1,65 @@
+package hello.springtx.propagation;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.hibernate.LockOptions;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class LogOutboxRepository {
+
+    private final EntityManager em;
+
+    // 호출한 쪽 트랜잭션에 참여한다 (REQUIRES_NEW 처럼 커넥션을 하나 더 잡지 않는다)
+    @Transactional
+    public void append(String message) {
+        em.persist(new LogOutbox(message, System.currentTimeMillis()));
+    }
+
+    /**
+     * 파티션(id mod partitions)별로 오래된 것부터 행 잠금(select for update skip locked)을 걸고 가져온다
+     * - 워커마다 다른 파티션을 맡고, dispatchAll() 이나 다른 인스턴스와 겹쳐도 이미 잠긴 행은 건너뛴다
+     * - 잠금은 호출한 트랜잭션이 끝날 때 풀리므로 옮기는 트랜잭션 안에서 호출해야 한다
+     */
+    public List<LogOutbox> claimBatch(int partition, int partitions, int maxAttempts, int batchSize) {
+        return em.createQuery("select o from LogOutbox o" +
+                        " where mod(o.id, :partitions) = :partition and o.attempts < :maxAttempts" +
+                        " order by o.id", LogOutbox.class)
+                .setParameter("partitions", (long) partitions)
+                .setParameter("partition", (long) partition)
+                .setParameter("maxAttempts", maxAttempts)
+                .setMaxResults(batchSize)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .setHint("jakarta.persistence.lock.timeout", LockOptions.SKIP_LOCKED)
+                .getResultList();
+    }
+
+    // 한 건 잠금, 이미 옮겨져서 없으면 null
+    public LogOutbox claim(Long id) {
+        return em.find(LogOutbox.class, id, LockModeType.PESSIMISTIC_WRITE);
+    }
+
+    public int delete(Collection<Long> ids) {
+        return em.createQuery("delete from LogOutbox o where o.id in :ids")
+                .setParameter("ids", ids)
+                .executeUpdate();
+    }
+
+    public int incrementAttempts(Long id) {
+        return em.createQuery("update LogOutbox o set o.attempts = o.attempts + 1 where o.id = :id")
+                .setParameter("id", id)
+                .executeUpdate();
+    }
+
+    public long count() {
+        return em.createQuery("select count(o) from LogOutbox o", Long.class).getSingleResult();
+    }
+}
@@ -0,0 +1,26 @@
+package hello.springtx.propagation;
+
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+public class LogOutboxStats {
+
+    private final long dispatchedCount;
+    private final long batchCount;
+    private final long failedCount;     // 재시도 횟수를 다 써서 outbox 에 남은 로그
+    private final double meanLagMillis; // outbox insert ~ Log 반영
+    private final long maxLagMillis;
+    private final double meanBatchMillis;
+
+    public LogOutboxStats(long dispatchedCount, long batchCount, long failedCount,
+                          double meanLagMillis, long maxLagMillis, double meanBatchMillis) {
+        this.dispatchedCount = dispatchedCount;
+        this.batchCount = batchCount;
+        this.failedCount = failedCount;
+        this.meanLagMillis = meanLagMillis;
+        this.maxLagMillis = maxLagMillis;
+        this.meanBatchMillis = meanBatchMillis;
+    }
+}
@@ -12,6 +12,7 @@ public class MemberService {
 
     private final MemberRepository memberRepository;
     private final LogRepository logRepository;
+    private final LogOutboxRepository logOutboxRepository;
 
     @Transactional
     public void joinV1(String username) {
@@ -46,5 +47,19 @@ public class MemberService {
         log.info("== logRepository 호출 종료 ==");
     }
 
+    /**
+     * 로그를 outbox 에 남기고 바로 끝낸다, Log 테이블 반영은 LogOutboxDispatcher 가 비동기로 한다
+     * outbox insert 는 member 와 같은 트랜잭션이라 가입이 롤백되면 로그도 남지 않고,
+     * Log 저장이 실패해도 가입에는 영향이 없다
+     */
+    @Transactional
+    public void joinV3(String username) {
+        Member member = new Member(username);
 
+        log.info("== memberRepository 호출 시작 ==");
+        memberRepository.save(member);
+        log.info("== memberRepository 호출 종료 ==");
+
+        logOutboxRepository.append(username);
+    }
 }
@@ -0,0 +1,50 @@
+package hello.springtx.propagation;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// LogOutboxTest 와 통계(stats)가 섞이지 않도록 설정을 달리해서 컨텍스트를 따로 띄운다
+@SpringBootTest(properties = {"log.outbox.enabled=false", "log.outbox.batch-size=7"})
+class LogOutboxConcurrencyTest {
+
+    @Autowired LogOutboxRepository logOutboxRepository;
+    @Autowired LogOutboxDispatcher logOutboxDispatcher;
+    @Autowired EntityManager em;
+
+    @Test
+    void concurrentDispatchDoesNotDuplicate() throws Exception {
+        int messages = 50;
+        for (int i = 0; i < messages; i++) {
+            logOutboxRepository.append("concurrent_" + i);
+        }
+
+        // 여러 스레드가 같은 행을 동시에 옮기려고 해도 Log 는 한 번씩만 생긴다
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            futures.add(executor.submit(logOutboxDispatcher::dispatchAll));
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+
+        Long moved = em.createQuery("select count(l) from Log l where l.message like 'concurrent_%'", Long.class)
+                .getSingleResult();
+        assertThat(moved).isEqualTo(messages);
+        assertThat(logOutboxRepository.count()).isZero();
+        assertThat(logOutboxDispatcher.stats().getDispatchedCount()).isEqualTo(messages);
+    }
+}
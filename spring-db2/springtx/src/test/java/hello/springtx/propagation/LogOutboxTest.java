@@ -0,0 +1,55 @@
+package hello.springtx.propagation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+@SpringBootTest(properties = {"log.outbox.enabled=false", "log.outbox.batch-size=2"})
+class LogOutboxTest {
+
+    @Autowired MemberService memberService;
+    @Autowired MemberRepository memberRepository;
+    @Autowired LogRepository logRepository;
+    @Autowired LogOutboxRepository logOutboxRepository;
+    @Autowired LogOutboxDispatcher logOutboxDispatcher;
+
+    /**
+     * MemberService    @Transactional:ON
+     * MemberRepository @Transactional:ON
+     * LogOutbox        같은 트랜잭션, Log 반영은 dispatcher 가 따로
+     */
+    @Test
+    void outbox() {
+        // given
+        String[] usernames = {"outbox_1", "outbox_2", "로그예외_outbox_3"};
+
+        // when
+        for (String username : usernames) {
+            memberService.joinV3(username);
+        }
+
+        // then: 가입은 바로 반영되고, 로그는 dispatcher 가 옮긴 뒤에 보인다
+        for (String username : usernames) {
+            assertTrue(memberRepository.find(username).isPresent());
+            assertTrue(logRepository.find(username).isEmpty());
+        }
+        assertThat(logOutboxRepository.count()).isEqualTo(3);
+
+        logOutboxDispatcher.dispatchAll();
+
+        for (String username : usernames) {
+            assertTrue(logRepository.find(username).isPresent());
+        }
+        assertThat(logOutboxRepository.count()).isZero();
+
+        LogOutboxStats stats = logOutboxDispatcher.stats();
+        log.info("stats={}", stats);
+        assertThat(stats.getDispatchedCount()).isEqualTo(3);
+        assertThat(stats.getBatchCount()).isEqualTo(2);
+    }
+}
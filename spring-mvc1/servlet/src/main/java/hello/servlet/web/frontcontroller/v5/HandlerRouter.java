@@ -0,0 +1,239 @@
+package hello.servlet.web.frontcontroller.v5;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * URI 패턴을 경로 세그먼트 단위 trie 로 미리 만들어 두고, 핸들러마다 처리할 어댑터도 등록할 때 한 번만 찾아 둔다
+ * - 패턴 예: /members/new-form, /members/{memberId}/edit
+ * - 고정 세그먼트가 경로 변수보다 우선이고, 고정 쪽에서 끝까지 못 찾으면 경로 변수 쪽으로 되돌아가서 찾는다
+ * - 자식 세그먼트는 정렬된 배열에서 이분 탐색하고 요청 URI 를 자르지 않고 비교한다 -> 조회할 때 객체를 만들지 않는다
+ * 등록(register)은 서블릿 초기화 때만 하고 이후에는 읽기만 한다
+ */
+public class HandlerRouter {
+
+    // 경로 변수(Map<String, String>)를 담아두는 request attribute 이름
+    public static final String PATH_VARIABLES = HandlerRouter.class.getName() + ".pathVariables";
+
+    private final List<MyHandlerAdapter> handlerAdapters;
+    private final Node root = new Node();
+    private int size;
+
+    public HandlerRouter(List<MyHandlerAdapter> handlerAdapters) {
+        this.handlerAdapters = List.copyOf(handlerAdapters);
+    }
+
+    public void register(String pattern, Object handler) {
+        if (pattern == null || !pattern.startsWith("/")) {
+            throw new IllegalArgumentException("패턴은 /로 시작해야 합니다. pattern = " + pattern);
+        }
+        MyHandlerAdapter adapter = findAdapter(handler);
+
+        String[] segments = pattern.equals("/") ? new String[0] : pattern.substring(1).split("/", -1);
+        Node node = root;
+        int variableCount = 0;
+        for (String segment : segments) {
+            if (isVariable(segment)) {
+                variableCount++;
+            }
+        }
+        String[] variableNames = new String[variableCount];
+        int[] variableIndexes = new int[variableCount];
+
+        int v = 0;
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            if (isVariable(segment)) {
+                if (node.variableChild == null) {
+                    node.variableChild = new Node();
+                }
+                node = node.variableChild;
+                variableNames[v] = segment.substring(1, segment.length() - 1);
+                variableIndexes[v++] = i;
+            } else {
+                node = node.getOrCreateChild(segment);
+            }
+        }
+        if (node.route != null) {
+            throw new IllegalStateException("중복된 URI 패턴입니다. pattern = " + pattern + ", 기존 = " + node.route.pattern);
+        }
+        node.route = new Route(pattern, handler, adapter, variableNames, variableIndexes);
+        size++;
+    }
+
+    /**
+     * 요청 URI 에 맞는 Route, 없으면 null
+     */
+    public Route route(String uri) {
+        if (uri == null || uri.isEmpty() || uri.charAt(0) != '/') {
+            return null;
+        }
+        if (uri.length() == 1) {
+            return root.route;
+        }
+        return match(root, uri, 1);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static Route match(Node node, String uri, int start) {
+        int end = uri.indexOf('/', start);
+        if (end < 0) {
+            end = uri.length();
+        }
+        Node child = node.findChild(uri, start, end);
+        if (child != null) {
+            Route route = next(child, uri, end);
+            if (route != null) {
+                return route;
+            }
+        }
+        // 빈 세그먼트는 경로 변수로 받지 않는다
+        if (node.variableChild != null && end > start) {
+            return next(node.variableChild, uri, end);
+        }
+        return null;
+    }
+
+    private static Route next(Node node, String uri, int end) {
+        return end == uri.length() ? node.route : match(node, uri, end + 1);
+    }
+
+    private MyHandlerAdapter findAdapter(Object handler) {
+        for (MyHandlerAdapter adapter : handlerAdapters) {
+            if (adapter.supports(handler)) {
+                return adapter;
+            }
+        }
+        throw new IllegalArgumentException("handler adapter를 찾을 수 없습니다. handler = " + handler);
+    }
+
+    private static boolean isVariable(String segment) {
+        return segment.length() > 2 && segment.charAt(0) == '{' && segment.charAt(segment.length() - 1) == '}';
+    }
+
+    /**
+     * URI 패턴 하나, 핸들러와 어댑터가 미리 묶여 있다
+     */
+    public static final class Route {
+
+        private final String pattern;
+        private final Object handler;
+        private final MyHandlerAdapter adapter;
+        private final String[] variableNames;
+        private final int[] variableIndexes;
+
+        private Route(String pattern, Object handler, MyHandlerAdapter adapter,
+                      String[] variableNames, int[] variableIndexes) {
+            this.pattern = pattern;
+            this.handler = handler;
+            this.adapter = adapter;
+            this.variableNames = variableNames;
+            this.variableIndexes = variableIndexes;
+        }
+
+        public String getPattern() {
+            return pattern;
+        }
+
+        public Object getHandler() {
+            return handler;
+        }
+
+        public MyHandlerAdapter getAdapter() {
+            return adapter;
+        }
+
+        public boolean hasPathVariables() {
+            return variableNames.length > 0;
+        }
+
+        /**
+         * 이 Route 에 매칭된 URI 에서 경로 변수 값을 꺼낸다
+         */
+        public Map<String, String> pathVariables(String uri) {
+            Map<String, String> variables = new HashMap<>();
+            int segment = 0;
+            int v = 0;
+            int start = 1;
+            while (v < variableIndexes.length && start <= uri.length()) {
+                int end = uri.indexOf('/', start);
+                if (end < 0) {
+                    end = uri.length();
+                }
+                if (segment == variableIndexes[v]) {
+                    variables.put(variableNames[v++], uri.substring(start, end));
+                }
+                segment++;
+                start = end + 1;
+            }
+            return variables;
+        }
+    }
+
+    private static final class Node {
+
+        private static final String[] NO_KEYS = new String[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        // 정렬된 고정 세그먼트와 같은 위치의 자식 노드
+        private String[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        private Node variableChild;
+        private Route route;
+
+        Node getOrCreateChild(String segment) {
+            int index = Arrays.binarySearch(keys, segment);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insert = -(index + 1);
+            String[] newKeys = new String[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insert);
+            System.arraycopy(children, 0, newChildren, 0, insert);
+            newKeys[insert] = segment;
+            newChildren[insert] = new Node();
+            System.arraycopy(keys, insert, newKeys, insert + 1, keys.length - insert);
+            System.arraycopy(children, insert, newChildren, insert + 1, children.length - insert);
+            keys = newKeys;
+            children = newChildren;
+            return newChildren[insert];
+        }
+
+        // uri[start, end) 와 같은 고정 세그먼트의 자식, substring 을 만들지 않고 비교한다
+        Node findChild(String uri, int start, int end) {
+            int low = 0;
+            int high = keys.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int cmp = compare(keys[mid], uri, start, end);
+                if (cmp < 0) {
+                    low = mid + 1;
+                } else if (cmp > 0) {
+                    high = mid - 1;
+                } else {
+                    return children[mid];
+                }
+            }
+            return null;
+        }
+
+        // String.compareTo 와 같은 순서
+        private static int compare(String key, String uri, int start, int end) {
+            int length = end - start;
+            int n = Math.min(key.length(), length);
+            for (int i = 0; i < n; i++) {
+                int diff = key.charAt(i) - uri.charAt(start + i);
+                if (diff != 0) {
+                    return diff;
+                }
+            }
+            return key.length() - length;
+        }
+    }
+}
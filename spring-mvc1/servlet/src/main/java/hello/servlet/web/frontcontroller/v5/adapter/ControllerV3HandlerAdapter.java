@@ -2,6 +2,7 @@ package hello.servlet.web.frontcontroller.v5.adapter;
 
 import hello.servlet.web.frontcontroller.ModelView;
 import hello.servlet.web.frontcontroller.v3.ControllerV3;
+import hello.servlet.web.frontcontroller.v5.HandlerRouter;
 import hello.servlet.web.frontcontroller.v5.MyHandlerAdapter;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -26,11 +27,17 @@ public class ControllerV3HandlerAdapter implements MyHandlerAdapter {
         return mv;
     }
 
+    @SuppressWarnings("unchecked")
     private Map<String, String> createParamMap(HttpServletRequest request) {
         Map<String, String> paramMap = new HashMap<>();
         request.getParameterNames().asIterator().forEachRemaining(
                 paramName -> paramMap.put(paramName, request.getParameter(paramName))
         );
+        // 경로 변수도 같이 넘긴다
+        Map<String, String> pathVariables = (Map<String, String>) request.getAttribute(HandlerRouter.PATH_VARIABLES);
+        if (pathVariables != null) {
+            paramMap.putAll(pathVariables);
+        }
         return paramMap;
     }
 }
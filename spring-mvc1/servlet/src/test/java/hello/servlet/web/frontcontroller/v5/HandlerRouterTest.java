@@ -0,0 +1,119 @@
+package hello.servlet.web.frontcontroller.v5;
+
+import hello.servlet.web.frontcontroller.ModelView;
+import hello.servlet.web.frontcontroller.v3.ControllerV3;
+import hello.servlet.web.frontcontroller.v5.adapter.ControllerV3HandlerAdapter;
+import hello.servlet.web.frontcontroller.v5.adapter.ControllerV4HandlerAdapter;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class HandlerRouterTest {
+
+    HandlerRouter router = new HandlerRouter(List.of(new ControllerV3HandlerAdapter(), new ControllerV4HandlerAdapter()));
+
+    @Test
+    void staticRoute() {
+        ControllerV3 list = view("list");
+        router.register("/members", list);
+        router.register("/members/new-form", view("form"));
+
+        HandlerRouter.Route route = router.route("/members");
+        assertThat(route.getHandler()).isSameAs(list);
+        assertThat(route.getAdapter()).isInstanceOf(ControllerV3HandlerAdapter.class);
+        assertThat(route.hasPathVariables()).isFalse();
+
+        assertThat(router.route("/members/")).isNull();
+        assertThat(router.route("/member")).isNull();
+        assertThat(router.route("/members/new-form/x")).isNull();
+        assertThat(router.route("members")).isNull();
+    }
+
+    @Test
+    void pathVariable() {
+        ControllerV3 detail = view("detail");
+        ControllerV3 form = view("form");
+        ControllerV3 edit = view("edit");
+        router.register("/members/{memberId}", detail);
+        router.register("/members/new-form", form);
+        router.register("/members/{memberId}/items/{itemId}", edit);
+
+        // 고정 세그먼트가 우선
+        assertThat(router.route("/members/new-form").getHandler()).isSameAs(form);
+
+        HandlerRouter.Route route = router.route("/members/10");
+        assertThat(route.getHandler()).isSameAs(detail);
+        assertThat(route.pathVariables("/members/10")).isEqualTo(Map.of("memberId", "10"));
+
+        route = router.route("/members/10/items/20");
+        assertThat(route.getHandler()).isSameAs(edit);
+        assertThat(route.pathVariables("/members/10/items/20")).isEqualTo(Map.of("memberId", "10", "itemId", "20"));
+
+        assertThat(router.route("/members//items/20")).isNull();
+    }
+
+    @Test
+    void backtrackToPathVariable() {
+        ControllerV3 fixed = view("fixed");
+        ControllerV3 variable = view("variable");
+        router.register("/a/new-form/x", fixed);
+        router.register("/a/{id}/y", variable);
+
+        // 고정 세그먼트 쪽에서 못 찾으면 경로 변수 쪽으로 되돌아간다
+        HandlerRouter.Route route = router.route("/a/new-form/y");
+        assertThat(route.getHandler()).isSameAs(variable);
+        assertThat(route.pathVariables("/a/new-form/y")).containsEntry("id", "new-form");
+    }
+
+    @Test
+    void registerFails() {
+        router.register("/members", view("list"));
+
+        assertThatThrownBy(() -> router.register("/members", view("list")))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> router.register("/unknown", new Object()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> router.register("members", view("list")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void manyRoutes() {
+        for (int i = 0; i < 10_000; i++) {
+            router.register("/api/v" + (i % 10) + "/resource" + i + "/{id}", view("view" + i));
+        }
+        assertThat(router.size()).isEqualTo(10_000);
+
+        for (int i = 0; i < 10_000; i++) {
+            String uri = "/api/v" + (i % 10) + "/resource" + i + "/" + i;
+            HandlerRouter.Route route = router.route(uri);
+            assertThat(((ControllerV3) route.getHandler()).process(Map.of()).getViewName()).isEqualTo("view" + i);
+            assertThat(route.pathVariables(uri)).containsEntry("id", String.valueOf(i));
+        }
+        assertThat(router.route("/api/v1/resource0/1")).isNull();
+    }
+
+    @Test
+    void frontControllerServlet() throws Exception {
+        FrontControllerServletV5 servlet = new FrontControllerServletV5();
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/front-controller/v5/v4/members/new-form");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        servlet.service(request, response);
+        assertThat(response.getForwardedUrl()).isEqualTo("/WEB-INF/views/new-form.jsp");
+
+        request = new MockHttpServletRequest("GET", "/front-controller/v5/v3/unknown");
+        response = new MockHttpServletResponse();
+        servlet.service(request, response);
+        assertThat(response.getStatus()).isEqualTo(404);
+    }
+
+    private static ControllerV3 view(String viewName) {
+        return paramMap -> new ModelView(viewName);
+    }
+}
@@ -3,24 +3,80 @@ package hello.hellospring.aop;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 메서드 실행 시간을 System.nanoTime 으로 재서 메서드별 히스토그램에 기록한다
+ * - 콘솔 출력이나 문자열 생성 없이 기록만 하고, 결과는 /trace/timings 로 조회한다
+ * - 메서드 이름(패키지 포함 클래스명.메서드(파라미터 타입들))은 히스토그램을 처음 만들 때 한 번만 만든다
+ *   오버로드나 패키지만 다른 같은 이름 클래스도 이름이 겹치지 않는다
+ * - trace.sample-rate=N 이면 N 번 중 1 번만 측정한다
+ */
 @Aspect
 @Component
 public class TimeTraceAop {
 
-    @Around("execution(* hello.hellospring..*(..))")
+    private final int sampleRate;
+    private final Map<Method, Timer> timers = new ConcurrentHashMap<>();
+
+    public TimeTraceAop(@Value("${trace.sample-rate:1}") int sampleRate) {
+        this.sampleRate = Math.max(1, sampleRate);
+    }
+
+    @Around("execution(* hello.hellospring..*(..)) && !within(hello.hellospring.aop..*)")
     public Object execute(ProceedingJoinPoint joinPoint) throws Throwable {
-        long start = System.currentTimeMillis();
-        System.out.println("START : " + joinPoint.toString());
+        if (sampleRate > 1 && ThreadLocalRandom.current().nextInt(sampleRate) != 0) {
+            return joinPoint.proceed();
+        }
+        Timer timer = timerOf(((MethodSignature) joinPoint.getSignature()).getMethod());
+        long start = System.nanoTime();
         try {
             return joinPoint.proceed();
-
         } finally {
-            long finish = System.currentTimeMillis();
-            long timeMs = finish - start;
-            System.out.println("END : " + joinPoint.toString() + " " + timeMs + "ms");
+            timer.histogram.record(System.nanoTime() - start);
+        }
+    }
+
+    // 메서드 이름 -> 히스토그램 (예: hello.hellospring.service.MemberService.join(hello.hellospring.domain.Member))
+    public Map<String, LatencyHistogram> getHistograms() {
+        Map<String, LatencyHistogram> result = new TreeMap<>();
+        for (Timer timer : timers.values()) {
+            result.put(timer.name, timer.histogram);
         }
+        return result;
+    }
 
+    public void reset() {
+        timers.clear();
+    }
+
+    private Timer timerOf(Method method) {
+        Timer timer = timers.get(method);
+        if (timer == null) {
+            timer = timers.computeIfAbsent(method, Timer::new);
+        }
+        return timer;
+    }
+
+    private static class Timer {
+        private final String name;
+        private final LatencyHistogram histogram = new LatencyHistogram();
+
+        Timer(Method method) {
+            StringJoiner parameters = new StringJoiner(", ", "(", ")");
+            for (Class<?> type : method.getParameterTypes()) {
+                parameters.add(type.getTypeName());
+            }
+            this.name = method.getDeclaringClass().getName() + "." + method.getName() + parameters;
+        }
     }
 }
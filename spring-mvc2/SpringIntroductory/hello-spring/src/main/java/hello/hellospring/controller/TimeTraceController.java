@@ -0,0 +1,46 @@
+package hello.hellospring.controller;
+
+import hello.hellospring.aop.LatencyHistogram;
+import hello.hellospring.aop.TimeTraceAop;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+public class TimeTraceController {
+
+    private final TimeTraceAop timeTraceAop;
+
+    @Autowired
+    public TimeTraceController(TimeTraceAop timeTraceAop) {
+        this.timeTraceAop = timeTraceAop;
+    }
+
+    // 메서드별 호출 수, 평균, p50/p99/p999, 최대 (단위: 마이크로초)
+    @GetMapping("/trace/timings")
+    public Map<String, Map<String, Object>> timings() {
+        Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+        timeTraceAop.getHistograms().forEach((name, histogram) -> result.put(name, summary(histogram)));
+        return result;
+    }
+
+    @DeleteMapping("/trace/timings")
+    public void reset() {
+        timeTraceAop.reset();
+    }
+
+    private Map<String, Object> summary(LatencyHistogram histogram) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", histogram.getCount());
+        summary.put("meanUs", histogram.getMeanNanos() / 1000.0);
+        summary.put("p50Us", histogram.getValueAtPercentile(50) / 1000.0);
+        summary.put("p99Us", histogram.getValueAtPercentile(99) / 1000.0);
+        summary.put("p999Us", histogram.getValueAtPercentile(99.9) / 1000.0);
+        summary.put("maxUs", histogram.getMaxNanos() / 1000.0);
+        return summary;
+    }
+}
@@ -0,0 +1,159 @@
+package hello.hellospring.repository;
+
+import jakarta.persistence.Id;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * 도메인 클래스 필드로 컬럼 순서를 한 번 정해 두고 인덱스로 매핑/바인딩한다
+ * - select 는 "select * " 대신 정해 둔 컬럼 목록을 쓰므로 rs.getXxx(인덱스) 로 읽을 수 있다 (컬럼명 조회 X)
+ * - insert 는 @Id 를 뺀 컬럼을 같은 순서로 바인딩한다
+ * - 컬럼명은 필드명과 같다고 가정한다
+ */
+public final class JdbcMapper<T> implements RowMapper<T> {
+
+    private static final byte LONG = 0;
+    private static final byte INT = 1;
+    private static final byte STRING = 2;
+    private static final byte OBJECT = 3;
+
+    private final Constructor<T> constructor;
+    private final Field[] fields;
+    private final byte[] types;
+    private final int idIndex;
+
+    private final String selectSql;
+    private final String insertSql;
+    private final String idColumn;
+
+    private JdbcMapper(Class<T> type, String table) {
+        List<Field> columns = new ArrayList<>();
+        ReflectionUtils.doWithFields(type, columns::add,
+                field -> !Modifier.isStatic(field.getModifiers()) && !Modifier.isTransient(field.getModifiers()));
+
+        try {
+            this.constructor = ReflectionUtils.accessibleConstructor(type);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException("기본 생성자가 없습니다: " + type.getName(), e);
+        }
+        this.fields = columns.toArray(new Field[0]);
+        this.types = new byte[fields.length];
+
+        int id = -1;
+        StringJoiner selectColumns = new StringJoiner(", ");
+        StringJoiner insertColumns = new StringJoiner(", ");
+        StringJoiner insertValues = new StringJoiner(", ");
+        for (int i = 0; i < fields.length; i++) {
+            Field field = fields[i];
+            ReflectionUtils.makeAccessible(field);
+            types[i] = typeOf(field.getType());
+            selectColumns.add(field.getName());
+            if (field.isAnnotationPresent(Id.class)) {
+                id = i;
+            } else {
+                insertColumns.add(field.getName());
+                insertValues.add("?");
+            }
+        }
+        if (id < 0) {
+            throw new IllegalArgumentException("@Id 필드가 없습니다: " + type.getName());
+        }
+        this.idIndex = id;
+        this.idColumn = fields[id].getName();
+        this.selectSql = "select " + selectColumns + " from " + table;
+        this.insertSql = "insert into " + table + "(" + insertColumns + ") values(" + insertValues + ")";
+    }
+
+    public static <T> JdbcMapper<T> of(Class<T> type, String table) {
+        return new JdbcMapper<>(type, table);
+    }
+
+    public String selectSql() {
+        return selectSql;
+    }
+
+    public String selectSql(String where) {
+        return selectSql + " where " + where;
+    }
+
+    public String insertSql() {
+        return insertSql;
+    }
+
+    public String idColumn() {
+        return idColumn;
+    }
+
+    @Override
+    public T mapRow(ResultSet rs, int rowNum) throws SQLException {
+        T target;
+        try {
+            target = constructor.newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+        for (int i = 0; i < fields.length; i++) {
+            int column = i + 1;
+            Object value;
+            switch (types[i]) {
+                case LONG:
+                    long longValue = rs.getLong(column);
+                    value = rs.wasNull() ? null : longValue;
+                    break;
+                case INT:
+                    int intValue = rs.getInt(column);
+                    value = rs.wasNull() ? null : intValue;
+                    break;
+                case STRING:
+                    value = rs.getString(column);
+                    break;
+                default:
+                    value = rs.getObject(column, fields[i].getType());
+            }
+            if (value != null || !fields[i].getType().isPrimitive()) {
+                ReflectionUtils.setField(fields[i], target, value);
+            }
+        }
+        return target;
+    }
+
+    // insertSql 의 ? 순서대로 바인딩
+    public void bindInsert(PreparedStatement pstmt, T source) throws SQLException {
+        int parameter = 1;
+        for (int i = 0; i < fields.length; i++) {
+            if (i != idIndex) {
+                pstmt.setObject(parameter++, ReflectionUtils.getField(fields[i], source));
+            }
+        }
+    }
+
+    public void setId(T target, Number id) {
+        Class<?> type = fields[idIndex].getType();
+        Object value = type == Long.class || type == long.class ? (Object) id.longValue()
+                : type == Integer.class || type == int.class ? (Object) id.intValue() : id;
+        ReflectionUtils.setField(fields[idIndex], target, value);
+    }
+
+    private static byte typeOf(Class<?> type) {
+        if (type == Long.class || type == long.class) {
+            return LONG;
+        }
+        if (type == Integer.class || type == int.class) {
+            return INT;
+        }
+        if (type == String.class) {
+            return STRING;
+        }
+        return OBJECT;
+    }
+}
@@ -9,24 +9,26 @@ import java.util.List;
 import java.util.Optional;
 
 public class JdbcMemberRepository implements MemberRepository {
+    // 컬럼 순서를 고정해서 인덱스로 읽고 쓴다
+    private static final JdbcMapper<Member> mapper = JdbcMapper.of(Member.class, "member");
     private final DataSource dataSource;
     public JdbcMemberRepository(DataSource dataSource) {
         this.dataSource = dataSource;
     }
     @Override
     public Member save(Member member) {
-        String sql = "insert into member(name) values(?)";
+        String sql = mapper.insertSql();
         Connection conn = null;
         PreparedStatement pstmt = null;
         ResultSet rs = null;
         try {
             conn = getConnection();
             pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
-            pstmt.setString(1, member.getName());
+            mapper.bindInsert(pstmt, member);
             pstmt.executeUpdate();
             rs = pstmt.getGeneratedKeys();
             if (rs.next()) {
-                member.setId(rs.getLong(1));
+                mapper.setId(member, rs.getLong(1));
             } else {
                 throw new SQLException("id 조회 실패");
             }
@@ -39,7 +41,7 @@ public class JdbcMemberRepository implements MemberRepository {
     }
     @Override
     public Optional<Member> findById(Long id) {
-        String sql = "select * from member where id = ?";
+        String sql = mapper.selectSql("id = ?");
         Connection conn = null;
         PreparedStatement pstmt = null;
         ResultSet rs = null;
@@ -49,10 +51,7 @@ public class JdbcMemberRepository implements MemberRepository {
             pstmt.setLong(1, id);
             rs = pstmt.executeQuery();
             if(rs.next()) {
-                Member member = new Member();
-                member.setId(rs.getLong("id"));
-                member.setName(rs.getString("name"));
-                return Optional.of(member);
+                return Optional.of(mapper.mapRow(rs, 0));
             } else {
                 return Optional.empty();
             }
@@ -64,7 +63,7 @@ public class JdbcMemberRepository implements MemberRepository {
     }
     @Override
     public List<Member> findAll() {
-        String sql = "select * from member";
+        String sql = mapper.selectSql();
         Connection conn = null;
         PreparedStatement pstmt = null;
         ResultSet rs = null;
@@ -74,10 +73,7 @@ public class JdbcMemberRepository implements MemberRepository {
             rs = pstmt.executeQuery();
             List<Member> members = new ArrayList<>();
             while(rs.next()) {
-                Member member = new Member();
-                member.setId(rs.getLong("id"));
-                member.setName(rs.getString("name"));
-                members.add(member);
+                members.add(mapper.mapRow(rs, members.size()));
             }
             return members;
         } catch (Exception e) {
@@ -88,7 +84,7 @@ public class JdbcMemberRepository implements MemberRepository {
     }
     @Override
     public Optional<Member> findByName(String name) {
-        String sql = "select * from member where name = ?";
+        String sql = mapper.selectSql("name = ?");
         Connection conn = null;
         PreparedStatement pstmt = null;
         ResultSet rs = null;
@@ -98,10 +94,7 @@ public class JdbcMemberRepository implements MemberRepository {
             pstmt.setString(1, name);
             rs = pstmt.executeQuery();
             if(rs.next()) {
-                Member member = new Member();
-                member.setId(rs.getLong("id"));
-                member.setName(rs.getString("name"));
-                return Optional.of(member);
+                return Optional.of(mapper.mapRow(rs, 0));
             }
             return Optional.empty();
         } catch (Exception e) {
@@ -0,0 +1,32 @@
+package hello.hello_spring.aop;
+
+import hello.hellospring.aop.LatencyHistogram;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    LatencyHistogram histogram = new LatencyHistogram();
+
+    @Test
+    public void percentile() {
+        // 1us ~ 1000us 를 하나씩 기록
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+
+        assertThat(histogram.getCount()).isEqualTo(1000);
+        assertThat(histogram.getMaxNanos()).isEqualTo(1_000_000L);
+        // 버킷 상대 오차(12.5%) 이내
+        assertThat(histogram.getValueAtPercentile(50)).isBetween(500_000L, 562_500L);
+        assertThat(histogram.getValueAtPercentile(99)).isBetween(990_000L, 1_000_000L);
+        assertThat(histogram.getValueAtPercentile(99.9)).isBetween(999_000L, 1_000_000L);
+    }
+
+    @Test
+    public void empty() {
+        assertThat(histogram.getValueAtPercentile(99)).isZero();
+        assertThat(histogram.getMeanNanos()).isZero();
+    }
+}
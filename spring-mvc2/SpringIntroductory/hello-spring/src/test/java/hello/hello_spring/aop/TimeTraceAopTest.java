@@ -0,0 +1,48 @@
+package hello.hello_spring.aop;
+
+import hello.hellospring.aop.LatencyHistogram;
+import hello.hellospring.aop.TimeTraceAop;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TimeTraceAopTest {
+
+    TimeTraceAop timeTraceAop = new TimeTraceAop(1);
+
+    @Test
+    void overloadedMethodsHaveSeparateHistograms() throws Throwable {
+        execute(String.class.getMethod("valueOf", int.class));
+        execute(String.class.getMethod("valueOf", long.class));
+        execute(String.class.getMethod("valueOf", long.class));
+
+        Map<String, LatencyHistogram> histograms = timeTraceAop.getHistograms();
+        assertThat(histograms).hasSize(2);
+        assertThat(histograms.get("java.lang.String.valueOf(int)").getCount()).isEqualTo(1);
+        assertThat(histograms.get("java.lang.String.valueOf(long)").getCount()).isEqualTo(2);
+    }
+
+    @Test
+    void sameSimpleClassNameInDifferentPackages() throws Throwable {
+        execute(java.util.Date.class.getMethod("getTime"));
+        execute(java.sql.Date.class.getMethod("toLocalDate"));
+        execute(java.sql.Date.class.getMethod("toString"));
+
+        assertThat(timeTraceAop.getHistograms()).containsOnlyKeys(
+                "java.util.Date.getTime()", "java.sql.Date.toLocalDate()", "java.sql.Date.toString()");
+    }
+
+    private void execute(Method method) throws Throwable {
+        MethodSignature signature = mock(MethodSignature.class);
+        when(signature.getMethod()).thenReturn(method);
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        timeTraceAop.execute(joinPoint);
+    }
+}
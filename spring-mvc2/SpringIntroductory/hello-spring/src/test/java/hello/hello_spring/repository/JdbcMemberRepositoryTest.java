@@ -0,0 +1,73 @@
+package hello.hello_spring.repository;
+
+import hello.hellospring.domain.Member;
+import hello.hellospring.repository.JdbcMapper;
+import hello.hellospring.repository.JdbcMemberRepository;
+import hello.hellospring.repository.JdbcTemplateMemberRepository;
+import hello.hellospring.repository.MemberRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class JdbcMemberRepositoryTest {
+
+    DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:jdbc-member;DB_CLOSE_DELAY=-1", "sa", "");
+    JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+    @BeforeEach
+    void beforeEach() {
+        jdbcTemplate.execute("drop table if exists member");
+        jdbcTemplate.execute("create table member (id bigint generated by default as identity, name varchar(255), primary key (id))");
+    }
+
+    @Test
+    void sql() {
+        JdbcMapper<Member> mapper = JdbcMapper.of(Member.class, "member");
+        assertThat(mapper.selectSql()).isEqualTo("select id, name from member");
+        assertThat(mapper.selectSql("id = ?")).isEqualTo("select id, name from member where id = ?");
+        assertThat(mapper.insertSql()).isEqualTo("insert into member(name) values(?)");
+    }
+
+    @Test
+    void jdbcRepository() {
+        crud(new JdbcMemberRepository(dataSource));
+    }
+
+    @Test
+    void jdbcTemplateRepository() {
+        crud(new JdbcTemplateMemberRepository(dataSource));
+    }
+
+    @Test
+    void sameAsBeanPropertyRowMapper() {
+        jdbcTemplate.update("insert into member(name) values(?)", "spring1");
+        jdbcTemplate.update("insert into member(name) values(?)", (Object) null);
+        JdbcMapper<Member> mapper = JdbcMapper.of(Member.class, "member");
+
+        List<Member> expected = jdbcTemplate.query("select * from member order by id", BeanPropertyRowMapper.newInstance(Member.class));
+        List<Member> actual = jdbcTemplate.query(mapper.selectSql() + " order by id", mapper);
+
+        assertThat(actual).usingRecursiveFieldByFieldElementComparator().isEqualTo(expected);
+    }
+
+    private void crud(MemberRepository repository) {
+        Member member1 = new Member();
+        member1.setName("spring1");
+        repository.save(member1);
+        Member member2 = new Member();
+        member2.setName("spring2");
+        repository.save(member2);
+
+        assertThat(member1.getId()).isNotNull();
+        assertThat(repository.findById(member1.getId()).get().getName()).isEqualTo("spring1");
+        assertThat(repository.findByName("spring2").get().getId()).isEqualTo(member2.getId());
+        assertThat(repository.findByName("none")).isEmpty();
+        assertThat(repository.findAll()).extracting(Member::getName).containsExactlyInAnyOrder("spring1", "spring2");
+    }
+}
@@ -0,0 +1,16 @@
+package hello.core.common;
+
+/**
+ * long 키를 박싱(Long) 없이 사용하는 맵
+ */
+public interface LongKeyMap<V> {
+
+    V get(long key);
+
+    // @return 이전 값, 없으면 null
+    V put(long key, V value);
+
+    int size();
+
+    void clear();
+}
@@ -0,0 +1,68 @@
+package hello.core.common;
+
+/**
+ * 선형 탐사(open addressing) 해시 테이블, long[] 키와 Object[] 값을 그대로 들고 있다
+ * 삭제가 없고 값이 null 인 슬롯이 빈 슬롯이다, 적재율은 50% 를 넘지 않게 유지한다
+ */
+final class LongKeyTable {
+
+    final long[] keys;
+    final Object[] values;
+    int size;
+
+    LongKeyTable(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+    }
+
+    static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    Object get(long key) {
+        int mask = keys.length - 1;
+        for (int i = hash(key) & mask; ; i = (i + 1) & mask) {
+            Object value = values[i];
+            if (value == null) {
+                return null;
+            }
+            if (keys[i] == key) {
+                return value;
+            }
+        }
+    }
+
+    // 공간이 충분할 때만 호출한다 (needsResize 확인 후)
+    Object putInPlace(long key, Object value) {
+        int mask = keys.length - 1;
+        for (int i = hash(key) & mask; ; i = (i + 1) & mask) {
+            Object old = values[i];
+            if (old == null) {
+                keys[i] = key;
+                values[i] = value;
+                size++;
+                return null;
+            }
+            if (keys[i] == key) {
+                values[i] = value;
+                return old;
+            }
+        }
+    }
+
+    boolean needsResize() {
+        return (size + 1) * 2 > keys.length;
+    }
+
+    // 같은 내용을 가진 새 테이블, 공간이 부족하면 두 배로 늘린다
+    LongKeyTable copy() {
+        LongKeyTable copy = new LongKeyTable(needsResize() ? keys.length * 2 : keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            if (values[i] != null) {
+                copy.putInPlace(keys[i], values[i]);
+            }
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,41 @@
+package hello.core.common;
+
+/**
+ * 읽기 위주(read-mostly) long 키 맵
+ * 조회는 불변 스냅샷 하나만 읽으므로 락도 검증도 없다
+ * 쓰기는 테이블 전체를 복사해서 새 스냅샷을 만들기 때문에 O(n) 이다 -> 쓰기가 드문 데이터에만 사용한다
+ */
+public class SnapshotLongKeyMap<V> implements LongKeyMap<V> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private volatile LongKeyTable snapshot = new LongKeyTable(INITIAL_CAPACITY);
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        return (V) snapshot.get(key);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public synchronized V put(long key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("null value is not supported");
+        }
+        LongKeyTable next = snapshot.copy();
+        Object old = next.putInPlace(key, value);
+        snapshot = next;
+        return (V) old;
+    }
+
+    @Override
+    public int size() {
+        return snapshot.size;
+    }
+
+    @Override
+    public synchronized void clear() {
+        snapshot = new LongKeyTable(INITIAL_CAPACITY);
+    }
+}
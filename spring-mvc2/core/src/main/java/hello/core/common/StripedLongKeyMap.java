@@ -0,0 +1,94 @@
+package hello.core.common;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * 동시성 long 키 맵
+ * 키를 16 개 stripe 로 나눠서 쓰기 경합을 줄이고, 조회는 StampedLock 낙관적 읽기로 락 없이 처리한다
+ * (조회 중에 같은 stripe 에 쓰기가 있었으면 읽기 락으로 한 번 더 읽는다)
+ */
+public class StripedLongKeyMap<V> implements LongKeyMap<V> {
+
+    private static final int STRIPE_BITS = 4;
+
+    private final Stripe[] stripes = new Stripe[1 << STRIPE_BITS];
+
+    public StripedLongKeyMap() {
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        Stripe stripe = stripeOf(key);
+        long stamp = stripe.lock.tryOptimisticRead();
+        Object value = stripe.table.get(key);
+        if (!stripe.lock.validate(stamp)) {
+            stamp = stripe.lock.readLock();
+            try {
+                value = stripe.table.get(key);
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+        }
+        return (V) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("null value is not supported");
+        }
+        Stripe stripe = stripeOf(key);
+        long stamp = stripe.lock.writeLock();
+        try {
+            if (stripe.table.needsResize()) {
+                stripe.table = stripe.table.copy();
+            }
+            return (V) stripe.table.putInPlace(key, value);
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            long stamp = stripe.lock.readLock();
+            try {
+                size += stripe.table.size;
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        for (Stripe stripe : stripes) {
+            long stamp = stripe.lock.writeLock();
+            try {
+                stripe.table = new LongKeyTable(Stripe.INITIAL_CAPACITY);
+            } finally {
+                stripe.lock.unlockWrite(stamp);
+            }
+        }
+    }
+
+    // 테이블 안의 위치는 해시의 하위 비트를 쓰므로 stripe 는 상위 비트로 고른다
+    private Stripe stripeOf(long key) {
+        return stripes[LongKeyTable.hash(key) >>> (32 - STRIPE_BITS)];
+    }
+
+    private static final class Stripe {
+        private static final int INITIAL_CAPACITY = 16;
+
+        private final StampedLock lock = new StampedLock();
+        private LongKeyTable table = new LongKeyTable(INITIAL_CAPACITY);
+    }
+}
@@ -0,0 +1,105 @@
+package hello.core.discount;
+
+import hello.core.member.Grade;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 할인 규칙 한 줄: 등급 + 가격 구간(min~max, 양 끝 포함) -> 정률(RATE, %) 또는 정액(FIXED) 할인
+ * 구간이 겹치면 priority 가 큰 규칙이, priority 가 같으면 먼저 선언된 규칙이 적용된다
+ */
+public class DiscountRule {
+
+    public enum Type {
+        RATE,
+        FIXED
+    }
+
+    private final Grade grade; // null 이면 모든 등급
+    private final int minPrice;
+    private final int maxPrice;
+    private final Type type;
+    private final int amount;
+    private final int priority;
+
+    public DiscountRule(Grade grade, int minPrice, int maxPrice, Type type, int amount, int priority) {
+        if (minPrice > maxPrice) {
+            throw new IllegalArgumentException("minPrice > maxPrice: " + minPrice + " > " + maxPrice);
+        }
+        if (amount < 0 || (type == Type.RATE && amount > 100)) {
+            throw new IllegalArgumentException("잘못된 할인 값: " + type + " " + amount);
+        }
+        this.grade = grade;
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+        this.type = type;
+        this.amount = amount;
+        this.priority = priority;
+    }
+
+    /**
+     * "grade,minPrice,maxPrice,type,amount,priority" 를 ';' 로 이어 붙인 문자열을 읽는다
+     * grade 가 * 이면 모든 등급, maxPrice 가 비어 있으면 상한 없음
+     * ex) VIP,0,,RATE,10,0;BASIC,50000,,FIXED,1000,0
+     */
+    public static List<DiscountRule> parse(String spec) {
+        List<DiscountRule> rules = new ArrayList<>();
+        if (spec == null) {
+            return rules;
+        }
+        for (String line : spec.split(";")) {
+            if (line.isBlank()) {
+                continue;
+            }
+            String[] f = line.split(",", -1);
+            if (f.length != 6) {
+                throw new IllegalArgumentException("잘못된 할인 규칙: " + line);
+            }
+            try {
+                Grade grade = "*".equals(f[0].trim()) ? null : Grade.valueOf(f[0].trim());
+                int min = f[1].isBlank() ? 0 : Integer.parseInt(f[1].trim());
+                int max = f[2].isBlank() ? Integer.MAX_VALUE : Integer.parseInt(f[2].trim());
+                rules.add(new DiscountRule(grade, min, max, Type.valueOf(f[3].trim()),
+                        Integer.parseInt(f[4].trim()), Integer.parseInt(f[5].trim())));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("잘못된 할인 규칙: " + line, e);
+            }
+        }
+        return rules;
+    }
+
+    public Grade getGrade() {
+        return grade;
+    }
+
+    public int getMinPrice() {
+        return minPrice;
+    }
+
+    public int getMaxPrice() {
+        return maxPrice;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public int getAmount() {
+        return amount;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    @Override
+    public String toString() {
+        return "DiscountRule{" +
+                "grade=" + (grade == null ? "*" : grade) +
+                ", price=" + minPrice + "~" + maxPrice +
+                ", " + type + " " + amount +
+                ", priority=" + priority +
+                '}';
+    }
+}
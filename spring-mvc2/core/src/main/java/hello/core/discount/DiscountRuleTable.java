@@ -0,0 +1,110 @@
+package hello.core.discount;
+
+import hello.core.member.Grade;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * 할인 규칙을 컴파일한 불변 조회 테이블
+ * 등급마다 가격 축을 겹치지 않는 구간으로 잘라두고, 구간별로 우선순위가 가장 높은 규칙의 할인율/할인액을 미리 정해둔다
+ * 조회는 등급 배열 인덱스 + 구간 시작 가격 이진 탐색 -> O(log n), 규칙을 순회하지 않는다
+ */
+final class DiscountRuleTable {
+
+    static final DiscountRuleTable EMPTY = compile(List.of());
+
+    // 인덱스 = Grade.ordinal()
+    private final Band[] bands;
+    private final int ruleCount;
+
+    private DiscountRuleTable(Band[] bands, int ruleCount) {
+        this.bands = bands;
+        this.ruleCount = ruleCount;
+    }
+
+    static DiscountRuleTable compile(List<DiscountRule> rules) {
+        // priority 내림차순, 같으면 선언 순서 (정렬은 stable)
+        List<DiscountRule> ordered = new ArrayList<>(rules);
+        ordered.sort(Comparator.comparingInt(DiscountRule::getPriority).reversed());
+
+        Grade[] grades = Grade.values();
+        Band[] bands = new Band[grades.length];
+        for (Grade grade : grades) {
+            List<DiscountRule> gradeRules = new ArrayList<>();
+            for (DiscountRule rule : ordered) {
+                if (rule.getGrade() == null || rule.getGrade() == grade) {
+                    gradeRules.add(rule);
+                }
+            }
+            bands[grade.ordinal()] = Band.compile(gradeRules);
+        }
+        return new DiscountRuleTable(bands, rules.size());
+    }
+
+    int discount(Grade grade, int price) {
+        return bands[grade.ordinal()].discount(price);
+    }
+
+    int ruleCount() {
+        return ruleCount;
+    }
+
+    private static final class Band {
+        // starts[i] 이상 starts[i + 1] 미만 구간에 rates[i](%) 와 fixed[i] 가 적용된다, 규칙이 없는 구간은 둘 다 0
+        private final int[] starts;
+        private final int[] rates;
+        private final int[] fixed;
+
+        private Band(int[] starts, int[] rates, int[] fixed) {
+            this.starts = starts;
+            this.rates = rates;
+            this.fixed = fixed;
+        }
+
+        // rules 는 우선순위 순서로 정렬되어 있다
+        static Band compile(List<DiscountRule> rules) {
+            TreeSet<Integer> points = new TreeSet<>();
+            points.add(Integer.MIN_VALUE);
+            for (DiscountRule rule : rules) {
+                points.add(rule.getMinPrice());
+                if (rule.getMaxPrice() != Integer.MAX_VALUE) {
+                    points.add(rule.getMaxPrice() + 1);
+                }
+            }
+            int[] starts = points.stream().mapToInt(Integer::intValue).toArray();
+            int[] rates = new int[starts.length];
+            int[] fixed = new int[starts.length];
+            boolean[] assigned = new boolean[starts.length];
+
+            // 우선순위가 높은 규칙부터 아직 비어 있는 구간만 채운다
+            for (DiscountRule rule : rules) {
+                int from = Arrays.binarySearch(starts, rule.getMinPrice());
+                for (int i = from; i < starts.length && starts[i] <= rule.getMaxPrice(); i++) {
+                    if (assigned[i]) {
+                        continue;
+                    }
+                    assigned[i] = true;
+                    if (rule.getType() == DiscountRule.Type.RATE) {
+                        rates[i] = rule.getAmount();
+                    } else {
+                        fixed[i] = rule.getAmount();
+                    }
+                }
+            }
+            return new Band(starts, rates, fixed);
+        }
+
+        int discount(int price) {
+            int i = Arrays.binarySearch(starts, price);
+            if (i < 0) {
+                i = -i - 2; // price 보다 작은 가장 큰 시작점, starts[0] 이 MIN_VALUE 라 항상 0 이상
+            }
+            // 정률/정액 중 하나는 0 이므로 분기 없이 더한다, 정액 할인은 가격을 넘지 않는다
+            return (int) ((long) price * rates[i] / 100) + Math.min(fixed[i], Math.max(price, 0));
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package hello.core.discount;
 
-import hello.core.annotation.MainDiscountPolicy;
 import hello.core.member.Grade;
 import hello.core.member.Member;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -8,7 +7,6 @@ import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Component;
 
 @Component
-@MainDiscountPolicy
 //@Primary
 public class RateDiscountPolicy implements DiscountPolicy {
 
@@ -0,0 +1,45 @@
+package hello.core.discount;
+
+import hello.core.annotation.MainDiscountPolicy;
+import hello.core.member.Member;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 설정(discount.rules)에서 읽은 할인 규칙 테이블로 할인하는 정책
+ * 규칙은 불변 테이블로 컴파일해서 volatile 참조 하나로 교체한다 -> 조회 스레드는 락 없이 항상 완전한 테이블 하나만 본다
+ * OrderServiceImpl 의 주 할인 정책, 설정이 없으면 RateDiscountPolicy 와 같은 규칙(VIP 10%)을 쓴다
+ * 운영 중 규칙 교체는 reload() 호출 (외부 HTTP 로는 노출하지 않는다)
+ */
+@Component
+@MainDiscountPolicy
+public class RuleDiscountPolicy implements DiscountPolicy {
+
+    public static final String DEFAULT_RULES = "VIP,0,,RATE,10,0";
+
+    private volatile DiscountRuleTable table = DiscountRuleTable.EMPTY;
+
+    public RuleDiscountPolicy(@Value("${discount.rules:" + DEFAULT_RULES + "}") String rules) {
+        reload(DiscountRule.parse(rules));
+    }
+
+    @Override
+    public int discount(Member member, int price) {
+        return table.discount(member.getGrade(), price);
+    }
+
+    // 새 테이블을 다 만든 뒤에 교체한다, 컴파일 중 예외가 나면 기존 규칙이 그대로 유지된다
+    public void reload(List<DiscountRule> rules) {
+        table = DiscountRuleTable.compile(rules);
+    }
+
+    public void reload(String rules) {
+        reload(DiscountRule.parse(rules));
+    }
+
+    public int ruleCount() {
+        return table.ruleCount();
+    }
+}
@@ -1,14 +1,28 @@
 package hello.core.member;
 
+import hello.core.common.LongKeyMap;
+import hello.core.common.StripedLongKeyMap;
 import org.springframework.stereotype.Component;
 
-import java.util.HashMap;
-import java.util.Map;
-
 @Component
 public class MemoryMemberRepository implements MemberRepository {
 
-    private static Map<Long, Member> store = new HashMap<>();
+    // 기본 저장소는 모든 인스턴스가 공유한다 (static), 동시 저장/조회에 안전한 long 키 맵
+    private static final LongKeyMap<Member> sharedStore = new StripedLongKeyMap<>();
+
+    private final LongKeyMap<Member> store;
+
+    public MemoryMemberRepository() {
+        this(sharedStore);
+    }
+
+    /**
+     * 저장소를 직접 지정한다
+     * 회원 정보처럼 조회가 대부분이면 SnapshotLongKeyMap 을 넘겨서 조회를 락 없이 처리할 수 있다
+     */
+    public MemoryMemberRepository(LongKeyMap<Member> store) {
+        this.store = store;
+    }
 
     @Override
     public void save(Member member) {
@@ -17,6 +31,9 @@ public class MemoryMemberRepository implements MemberRepository {
 
     @Override
     public Member findById(Long memberId) {
+        if (memberId == null) {
+            return null;
+        }
         return store.get(memberId);
     }
 }
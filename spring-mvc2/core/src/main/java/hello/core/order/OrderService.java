@@ -1,6 +1,11 @@
 package hello.core.order;
 
+import java.util.List;
+
 public interface OrderService {
 
     Order createOrder(Long memberId, String itemName, int itemPrice);
+
+    // 요청 순서대로 주문을 만든다, 같은 회원은 한 번만 조회한다
+    List<Order> createOrders(List<OrderRequest> requests);
 }
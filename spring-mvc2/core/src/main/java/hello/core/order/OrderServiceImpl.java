@@ -11,6 +11,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 @Component
 //@RequiredArgsConstructor
 public class OrderServiceImpl implements OrderService {
@@ -53,6 +58,28 @@ public class OrderServiceImpl implements OrderService {
         return new Order(memberId, itemName, itemPrice, discountPrice);
     }
 
+    @Override
+    public List<Order> createOrders(List<OrderRequest> requests) {
+        // 배치 안에서만 쓰는 회원 캐시 -> 회원 수만큼만 저장소를 조회한다
+        Map<Long, Member> members = new HashMap<>();
+        List<Order> orders = new ArrayList<>(requests.size());
+        for (OrderRequest request : requests) {
+            Long memberId = request.getMemberId();
+            Member member = members.get(memberId);
+            if (member == null) {
+                member = memberRepository.findById(memberId);
+                // 없는 회원이면 할인 정책에서 NPE 가 나기 전에 바로 실패시킨다
+                if (member == null) {
+                    throw new IllegalArgumentException("존재하지 않는 회원입니다. memberId=" + memberId);
+                }
+                members.put(memberId, member);
+            }
+            int discountPrice = discountPolicy.discount(member, request.getItemPrice());
+            orders.add(new Order(memberId, request.getItemName(), request.getItemPrice(), discountPrice));
+        }
+        return orders;
+    }
+
     // TEST METHOD
     public MemberRepository getMemberRepository() {
         return memberRepository;
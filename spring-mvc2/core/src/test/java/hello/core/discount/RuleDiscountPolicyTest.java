@@ -0,0 +1,97 @@
+package hello.core.discount;
+
+import hello.core.common.StripedLongKeyMap;
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import hello.core.member.MemoryMemberRepository;
+import hello.core.order.OrderServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class RuleDiscountPolicyTest {
+
+    Member vip = new Member(1L, "memberVip", Grade.VIP);
+    Member basic = new Member(2L, "memberBasic", Grade.BASIC);
+
+    @Test
+    @DisplayName("기존 정책과 같은 규칙이면 같은 할인 금액이 나와야 한다")
+    void sameAsCurrentPolicies() {
+        RuleDiscountPolicy rate = new RuleDiscountPolicy("VIP,0,,RATE,10,0");
+        RuleDiscountPolicy fix = new RuleDiscountPolicy("VIP,1000,,FIXED,1000,0");
+        RateDiscountPolicy ratePolicy = new RateDiscountPolicy();
+        FixDiscountPolicy fixPolicy = new FixDiscountPolicy();
+
+        for (int price = 1000; price <= 100000; price += 777) {
+            assertThat(rate.discount(vip, price)).isEqualTo(ratePolicy.discount(vip, price));
+            assertThat(rate.discount(basic, price)).isEqualTo(ratePolicy.discount(basic, price));
+            assertThat(fix.discount(vip, price)).isEqualTo(fixPolicy.discount(vip, price));
+            assertThat(fix.discount(basic, price)).isEqualTo(fixPolicy.discount(basic, price));
+        }
+    }
+
+    @Test
+    @DisplayName("구간이 겹치면 우선순위가 높은 규칙이 적용된다")
+    void priority() {
+        RuleDiscountPolicy policy = new RuleDiscountPolicy(
+                "*,0,,RATE,5,0;" +
+                "VIP,10000,19999,FIXED,3000,10;" +
+                "VIP,15000,,RATE,20,5");
+
+        assertThat(policy.discount(basic, 10000)).isEqualTo(500);
+        assertThat(policy.discount(vip, 9999)).isEqualTo(499);
+        assertThat(policy.discount(vip, 10000)).isEqualTo(3000);
+        assertThat(policy.discount(vip, 19999)).isEqualTo(3000);
+        assertThat(policy.discount(vip, 20000)).isEqualTo(4000);
+        assertThat(policy.discount(vip, -1)).isEqualTo(0);
+    }
+
+    @Test
+    void reload() {
+        RuleDiscountPolicy policy = new RuleDiscountPolicy("");
+        assertThat(policy.discount(vip, 10000)).isEqualTo(0);
+
+        policy.reload("VIP,0,,RATE,10,0");
+        assertThat(policy.discount(vip, 10000)).isEqualTo(1000);
+
+        // 잘못된 규칙이면 기존 규칙이 유지된다
+        assertThatThrownBy(() -> policy.reload("VIP,0,,RATE,200,0"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(policy.discount(vip, 10000)).isEqualTo(1000);
+    }
+
+    @Test
+    @DisplayName("교체한 규칙이 주문 할인에 바로 반영된다")
+    void reloadThroughOrderService() {
+        // 공유(static) 저장소를 건드리지 않도록 전용 저장소를 쓴다
+        MemoryMemberRepository memberRepository = new MemoryMemberRepository(new StripedLongKeyMap<>());
+        memberRepository.save(vip);
+        RuleDiscountPolicy policy = new RuleDiscountPolicy(RuleDiscountPolicy.DEFAULT_RULES);
+        OrderServiceImpl orderService = new OrderServiceImpl(memberRepository, policy);
+
+        assertThat(orderService.createOrder(vip.getId(), "itemA", 20000).getDiscountPrice()).isEqualTo(2000);
+
+        policy.reload("VIP,0,,FIXED,1000,0");
+        assertThat(orderService.createOrder(vip.getId(), "itemA", 20000).getDiscountPrice()).isEqualTo(1000);
+    }
+
+    @Test
+    @DisplayName("규칙이 많아도 가장 우선순위가 높은 규칙을 찾는다")
+    void manyRules() {
+        List<DiscountRule> rules = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            rules.add(new DiscountRule(Grade.VIP, i * 100, i * 100 + 99, DiscountRule.Type.FIXED, i, i % 7));
+        }
+        rules.add(new DiscountRule(Grade.VIP, 0, Integer.MAX_VALUE, DiscountRule.Type.RATE, 1, -1));
+        RuleDiscountPolicy policy = new RuleDiscountPolicy("");
+        policy.reload(rules);
+
+        assertThat(policy.ruleCount()).isEqualTo(5001);
+        assertThat(policy.discount(vip, 123456)).isEqualTo(1234);
+        assertThat(policy.discount(vip, 600000)).isEqualTo(6000);
+    }
+}
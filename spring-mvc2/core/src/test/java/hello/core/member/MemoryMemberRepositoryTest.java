@@ -0,0 +1,62 @@
+package hello.core.member;
+
+import hello.core.common.SnapshotLongKeyMap;
+import hello.core.common.StripedLongKeyMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+
+class MemoryMemberRepositoryTest {
+
+    @Test
+    void concurrentSave() throws Exception {
+        StripedLongKeyMap<Member> store = new StripedLongKeyMap<>();
+        MemoryMemberRepository repository = new MemoryMemberRepository(store);
+        int threads = 8;
+        int perThread = 5000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            long base = (long) t * perThread;
+            futures.add(executor.submit(() -> {
+                for (long id = base; id < base + perThread; id++) {
+                    repository.save(new Member(id, "member" + id, Grade.BASIC));
+                    // 방금 저장한 회원은 바로 조회되어야 한다
+                    assertThat(repository.findById(id)).isNotNull();
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertThat(store.size()).isEqualTo(threads * perThread);
+        for (long id = 0; id < threads * perThread; id++) {
+            assertThat(repository.findById(id).getName()).isEqualTo("member" + id);
+        }
+    }
+
+    @Test
+    void snapshotStore() {
+        SnapshotLongKeyMap<Member> store = new SnapshotLongKeyMap<>();
+        MemoryMemberRepository repository = new MemoryMemberRepository(store);
+
+        repository.save(new Member(1L, "memberA", Grade.VIP));
+        repository.save(new Member(-1L, "memberB", Grade.BASIC));
+        repository.save(new Member(1L, "memberC", Grade.BASIC));
+
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(repository.findById(1L).getName()).isEqualTo("memberC");
+        assertThat(repository.findById(-1L).getName()).isEqualTo("memberB");
+        assertThat(repository.findById(2L)).isNull();
+        assertThat(repository.findById(null)).isNull();
+    }
+}
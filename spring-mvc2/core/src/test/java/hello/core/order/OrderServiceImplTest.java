@@ -1,5 +1,6 @@
 package hello.core.order;
 
+import hello.core.common.StripedLongKeyMap;
 import hello.core.discount.FixDiscountPolicy;
 import hello.core.member.Grade;
 import hello.core.member.Member;
@@ -8,6 +9,8 @@ import hello.core.member.MemoryMemberRepository;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -22,4 +25,53 @@ class OrderServiceImplTest {
         Order order = orderService.createOrder(1L, "itemA", 10000);
         assertThat(order.getDiscountPrice()).isEqualTo(1000);
     }
+
+    @Test
+    void createOrders() {
+        CountingMemberRepository memberRepository = new CountingMemberRepository();
+        memberRepository.save(new Member(1L, "memberA", Grade.VIP));
+        memberRepository.save(new Member(2L, "memberB", Grade.BASIC));
+
+        OrderServiceImpl orderService = new OrderServiceImpl(memberRepository, new FixDiscountPolicy());
+        List<Order> orders = orderService.createOrders(List.of(
+                new OrderRequest(1L, "itemA", 10000),
+                new OrderRequest(2L, "itemB", 20000),
+                new OrderRequest(1L, "itemC", 30000)));
+
+        assertThat(orders).extracting(Order::getItemName).containsExactly("itemA", "itemB", "itemC");
+        assertThat(orders).extracting(Order::getDiscountPrice).containsExactly(1000, 0, 1000);
+        // 회원 1 은 두 번 주문했지만 한 번만 조회
+        assertThat(memberRepository.findCount).isEqualTo(2);
+    }
+
+    @Test
+    void createOrdersWithUnknownMember() {
+        CountingMemberRepository memberRepository = new CountingMemberRepository();
+        memberRepository.save(new Member(1L, "memberA", Grade.VIP));
+
+        OrderServiceImpl orderService = new OrderServiceImpl(memberRepository, new FixDiscountPolicy());
+        assertThatThrownBy(() -> orderService.createOrders(List.of(
+                new OrderRequest(1L, "itemA", 10000),
+                new OrderRequest(99L, "itemB", 20000),
+                new OrderRequest(99L, "itemC", 30000))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("memberId=99");
+        assertThat(memberRepository.findCount).isEqualTo(2);
+    }
+
+    static class CountingMemberRepository implements MemberRepository {
+        private final MemoryMemberRepository delegate = new MemoryMemberRepository(new StripedLongKeyMap<>());
+        int findCount;
+
+        @Override
+        public void save(Member member) {
+            delegate.save(member);
+        }
+
+        @Override
+        public Member findById(Long memberId) {
+            findCount++;
+            return delegate.findById(memberId);
+        }
+    }
 }
@@ -1,5 +1,7 @@
 package hello.exception.api;
 
+import hello.exception.exception.BadRequestException;
+import hello.exception.exception.NotFoundException;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
@@ -16,6 +18,12 @@ public class ApiExceptionController {
         if (id.equals("ex")) {
             throw new RuntimeException("잘못된 사용자");
         }
+        if (id.equals("bad")) {
+            throw BadRequestException.INSTANCE;
+        }
+        if (id.equals("none")) {
+            throw new NotFoundException("없는 사용자: " + id);
+        }
         return new MemberDto(id, "hello" + id);
     }
 
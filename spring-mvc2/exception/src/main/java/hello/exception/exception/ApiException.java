@@ -0,0 +1,28 @@
+package hello.exception.exception;
+
+import lombok.Getter;
+
+/**
+ * API 비즈니스 예외
+ * - 자주 터지는 "없음", "잘못된 입력" 용도라 스택 트레이스를 채우지 않는다 (writableStackTrace = false)
+ * - suppressed 도 막아 두었기 때문에 상태가 바뀌지 않아서 기본 메시지 예외는 미리 만든 인스턴스를 공유해도 된다
+ * - ApiExceptionResolver 가 ERROR 디스패치 없이 바로 응답을 쓴다
+ */
+@Getter
+public class ApiException extends RuntimeException {
+
+    private final ErrorCode errorCode;
+
+    public ApiException(ErrorCode errorCode) {
+        this(errorCode, errorCode.getMessage());
+    }
+
+    public ApiException(ErrorCode errorCode, String message) {
+        super(message, null, false, false);
+        this.errorCode = errorCode;
+    }
+
+    public boolean hasDefaultMessage() {
+        return errorCode.getMessage().equals(getMessage());
+    }
+}
@@ -0,0 +1,14 @@
+package hello.exception.exception;
+
+public class BadRequestException extends ApiException {
+
+    public static final BadRequestException INSTANCE = new BadRequestException();
+
+    public BadRequestException() {
+        super(ErrorCode.BAD_REQUEST);
+    }
+
+    public BadRequestException(String message) {
+        super(ErrorCode.BAD_REQUEST, message);
+    }
+}
@@ -0,0 +1,15 @@
+package hello.exception.exception;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum ErrorCode {
+
+    BAD_REQUEST(400, "잘못된 입력 값"),
+    NOT_FOUND(404, "대상을 찾을 수 없음");
+
+    private final int status;
+    private final String message;
+}
@@ -0,0 +1,14 @@
+package hello.exception.exception;
+
+public class NotFoundException extends ApiException {
+
+    public static final NotFoundException INSTANCE = new NotFoundException();
+
+    public NotFoundException() {
+        super(ErrorCode.NOT_FOUND);
+    }
+
+    public NotFoundException(String message) {
+        super(ErrorCode.NOT_FOUND, message);
+    }
+}
@@ -1,15 +1,24 @@
 package hello.exception.filter;
 
+import hello.exception.interceptor.LogInterceptor;
+import hello.exception.trace.AsyncRequestLogger;
+import hello.exception.trace.RequestIdGenerator;
 import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
-import java.util.UUID;
 
 @Slf4j
 public class LogFilter implements Filter {
 
+    private final AsyncRequestLogger requestLogger;
+
+    public LogFilter(AsyncRequestLogger requestLogger) {
+        this.requestLogger = requestLogger;
+    }
+
     @Override
     public void init(FilterConfig filterConfig) throws ServletException {
         log.info("log filter init");
@@ -20,16 +29,24 @@ public class LogFilter implements Filter {
         HttpServletRequest httpRequest = (HttpServletRequest) request;
         String requestURI = httpRequest.getRequestURI();
 
-        String uuid = UUID.randomUUID().toString();
+        // 인터셉터도 같은 id 를 쓰도록 요청에 보관, ERROR 디스패치는 원래 요청의 id 를 이어서 쓴다
+        String logId = (String) request.getAttribute(LogInterceptor.LOG_ID);
+        if (logId == null) {
+            logId = RequestIdGenerator.next();
+            request.setAttribute(LogInterceptor.LOG_ID, logId);
+        }
 
+        long start = System.nanoTime();
+        Throwable error = null;
         try {
-            log.info("REQUEST  [{}][{}][{}]", uuid, request.getDispatcherType(), requestURI);
             chain.doFilter(request, response);
         } catch (Exception e) {
-            log.info("EXCEPTION {}", e.getMessage());
+            error = e;
             throw e;
         } finally {
-            log.info("RESPONSE [{}][{}][{}]", uuid, request.getDispatcherType(), requestURI);
+            // 요청/응답 두 줄 대신 응답 상태와 처리 시간을 담은 한 줄을 비동기로 기록
+            int status = error == null ? ((HttpServletResponse) response).getStatus() : HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+            requestLogger.log(logId, request.getDispatcherType().name(), requestURI, status, System.nanoTime() - start, error);
         }
 
     }
@@ -38,4 +55,4 @@ public class LogFilter implements Filter {
     public void destroy() {
         log.info("log filter destroy");
     }
-}
\ No newline at end of file
+}
@@ -1,43 +1,50 @@
 package hello.exception.interceptor;
 
+import hello.exception.trace.AsyncRequestLogger;
+import hello.exception.trace.RequestIdGenerator;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.ModelAndView;
 
-import java.util.UUID;
-
 @Slf4j
 public class LogInterceptor implements HandlerInterceptor {
 
     public static final String LOG_ID = "logId";
+    public static final String LOG_START = "logStart";
 
-    @Override
-    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+    private final AsyncRequestLogger requestLogger;
 
-        String requestURI = request.getRequestURI();
-
-        String uuid = UUID.randomUUID().toString();
-        request.setAttribute(LOG_ID, uuid);
+    public LogInterceptor(AsyncRequestLogger requestLogger) {
+        this.requestLogger = requestLogger;
+    }
 
-        log.info("REQUEST  [{}][{}][{}][{}]", uuid, request.getDispatcherType(), requestURI, handler);
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        // LogFilter 가 먼저 id 를 만들었으면 그대로 사용
+        if (request.getAttribute(LOG_ID) == null) {
+            request.setAttribute(LOG_ID, RequestIdGenerator.next());
+        }
+        request.setAttribute(LOG_START, System.nanoTime());
         return true;
     }
 
     @Override
     public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler, ModelAndView modelAndView) throws Exception {
-        log.info("postHandle [{}]", modelAndView);
+        log.debug("postHandle [{}]", modelAndView);
     }
 
     @Override
     public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) throws Exception {
-        String requestURI = request.getRequestURI();
         String logId = (String) request.getAttribute(LOG_ID);
-        log.info("RESPONSE [{}][{}][{}]", logId, request.getDispatcherType(), requestURI);
-        if (ex != null) {
-            log.error("afterCompletion error!!", ex);
-        }
+        // preHandle 이 실행되지 않았으면(앞선 인터셉터가 false 반환 등) 시작 시간이 없다
+        Long start = (Long) request.getAttribute(LOG_START);
+        long latencyNanos = start == null ? 0 : System.nanoTime() - start;
+        // 요청 스레드에서는 링 버퍼에 넣기만 하고 실제 로그는 백그라운드에서 기록
+        // 여기까지 올라온 예외는 LogFilter 까지 전파되어 스택 트레이스가 거기서 남으므로 상태만 기록한다
+        int status = ex == null ? response.getStatus() : HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        requestLogger.log(logId, request.getDispatcherType().name(), request.getRequestURI(),
+                status, latencyNanos, null);
     }
 }
-
@@ -0,0 +1,82 @@
+package hello.exception.resolver;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.exception.exception.ApiException;
+import hello.exception.exception.ErrorCode;
+import hello.exception.exhandler.ErrorResult;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.ModelAndView;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * ApiException 을 API 요청이면 여기서 바로 JSON 으로 응답한다
+ * - sendError 를 호출하지 않으므로 WAS 가 ERROR 디스패치로 필터, BasicErrorController 를 한 번 더 타지 않는다
+ * - 기본 메시지 응답 본문은 ErrorCode 별로 미리 직렬화해 둔 byte[] 를 그대로 쓴다
+ * - API 요청이 아니면 null 을 반환해서 기존 오류 페이지 흐름을 그대로 탄다
+ */
+@Slf4j
+public class ApiExceptionResolver implements HandlerExceptionResolver {
+
+    private final ObjectMapper objectMapper;
+    private final Map<ErrorCode, byte[]> bodies = new EnumMap<>(ErrorCode.class);
+
+    public ApiExceptionResolver(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            bodies.put(errorCode, serialize(errorCode, errorCode.getMessage()));
+        }
+    }
+
+    @Override
+    public ModelAndView resolveException(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (!(ex instanceof ApiException) || !isApiRequest(request)) {
+            return null;
+        }
+        ApiException apiException = (ApiException) ex;
+        ErrorCode errorCode = apiException.getErrorCode();
+        byte[] body = apiException.hasDefaultMessage()
+                ? bodies.get(errorCode)
+                : serialize(errorCode, apiException.getMessage());
+
+        try {
+            response.setStatus(errorCode.getStatus());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+            return new ModelAndView();
+        } catch (IOException e) {
+            log.error("resolver ex", e);
+            return null;
+        }
+    }
+
+    byte[] cachedBody(ErrorCode errorCode) {
+        return bodies.get(errorCode);
+    }
+
+    private byte[] serialize(ErrorCode errorCode, String message) {
+        try {
+            return objectMapper.writeValueAsBytes(new ErrorResult(errorCode.name(), message));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean isApiRequest(HttpServletRequest request) {
+        if (request.getRequestURI().startsWith("/api/")) {
+            return true;
+        }
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return accept != null && accept.contains(MediaType.APPLICATION_JSON_VALUE);
+    }
+}
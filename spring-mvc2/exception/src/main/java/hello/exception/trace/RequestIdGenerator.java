@@ -0,0 +1,42 @@
+package hello.exception.trace;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 요청 id 생성기
+ * UUID.randomUUID() 는 SecureRandom 을 사용해서 부하가 높을 때 경합이 생긴다
+ * 대신 (노드 prefix)-(스레드 번호)-(스레드별 카운터) 형태로 만들어서 스레드 간 공유 상태 없이 유일한 id 를 만든다
+ */
+public final class RequestIdGenerator {
+
+    // 서버(프로세스) 구분용, 기동할 때 한 번 정한다
+    private static final String NODE_PREFIX = Long.toString(
+            (ProcessHandle.current().pid() << 20) ^ ThreadLocalRandom.current().nextInt(1 << 20), 36);
+    private static final AtomicInteger threadSequence = new AtomicInteger();
+
+    private static final ThreadLocal<State> state = ThreadLocal.withInitial(State::new);
+
+    private RequestIdGenerator() {
+    }
+
+    public static String next() {
+        State s = state.get();
+        StringBuilder sb = s.builder;
+        sb.setLength(s.prefixLength);
+        sb.append(Long.toString(++s.counter, 36));
+        return sb.toString();
+    }
+
+    private static final class State {
+        private final StringBuilder builder = new StringBuilder(32);
+        private final int prefixLength;
+        private long counter;
+
+        State() {
+            builder.append(NODE_PREFIX).append('-')
+                    .append(Integer.toString(threadSequence.incrementAndGet(), 36)).append('-');
+            prefixLength = builder.length();
+        }
+    }
+}
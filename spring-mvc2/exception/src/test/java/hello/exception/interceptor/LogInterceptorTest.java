@@ -0,0 +1,45 @@
+package hello.exception.interceptor;
+
+import hello.exception.trace.AsyncRequestLogger;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.*;
+
+class LogInterceptorTest {
+
+    @Test
+    void afterCompletionWithoutPreHandle() throws Exception {
+        try (AsyncRequestLogger requestLogger = new AsyncRequestLogger(16)) {
+            LogInterceptor interceptor = new LogInterceptor(requestLogger);
+
+            // preHandle 이 실행되지 않아 logStart 가 없어도 예외 없이 기록한다
+            assertThatCode(() -> interceptor.afterCompletion(new MockHttpServletRequest("GET", "/api/members/1"),
+                    new MockHttpServletResponse(), null, new RuntimeException("ex")))
+                    .doesNotThrowAnyException();
+        }
+    }
+
+    @Test
+    void exceptionIsLoggedWithoutStackTrace() throws Exception {
+        Throwable[] logged = new Throwable[1];
+        int[] status = new int[1];
+        try (AsyncRequestLogger requestLogger = new AsyncRequestLogger(16) {
+            @Override
+            public void log(String requestId, String dispatcherType, String requestURI, int s, long latencyNanos, Throwable error) {
+                status[0] = s;
+                logged[0] = error;
+            }
+        }) {
+            LogInterceptor interceptor = new LogInterceptor(requestLogger);
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/members/ex");
+            interceptor.preHandle(request, new MockHttpServletResponse(), null);
+            interceptor.afterCompletion(request, new MockHttpServletResponse(), null, new RuntimeException("ex"));
+
+            // 스택 트레이스는 LogFilter 한 곳에서만 남긴다
+            assertThat(logged[0]).isNull();
+            assertThat(status[0]).isEqualTo(500);
+        }
+    }
+}
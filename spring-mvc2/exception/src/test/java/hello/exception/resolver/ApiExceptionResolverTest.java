@@ -0,0 +1,68 @@
+package hello.exception.resolver;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.exception.exception.BadRequestException;
+import hello.exception.exception.ErrorCode;
+import hello.exception.exception.NotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.ModelAndView;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ApiExceptionResolverTest {
+
+    ApiExceptionResolver resolver = new ApiExceptionResolver(new ObjectMapper());
+
+    @Test
+    void stackless() {
+        assertThat(BadRequestException.INSTANCE.getStackTrace()).isEmpty();
+        assertThat(new NotFoundException("없는 사용자").getStackTrace()).isEmpty();
+
+        // suppressed 가 막혀 있어서 공유 인스턴스 상태가 바뀌지 않는다
+        BadRequestException.INSTANCE.addSuppressed(new RuntimeException());
+        assertThat(BadRequestException.INSTANCE.getSuppressed()).isEmpty();
+    }
+
+    @Test
+    void writeCachedBody() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/members/bad");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        ModelAndView mv = resolver.resolveException(request, response, null, BadRequestException.INSTANCE);
+
+        assertThat(mv).isNotNull();
+        assertThat(mv.isEmpty()).isTrue();
+        assertThat(response.getStatus()).isEqualTo(400);
+        // sendError 를 호출하지 않았으므로 ERROR 디스패치가 일어나지 않는다
+        assertThat(response.getErrorMessage()).isNull();
+        assertThat(response.getContentAsByteArray()).isEqualTo(resolver.cachedBody(ErrorCode.BAD_REQUEST));
+        assertThat(response.getContentAsString(StandardCharsets.UTF_8))
+                .isEqualTo("{\"code\":\"BAD_REQUEST\",\"message\":\"잘못된 입력 값\"}");
+    }
+
+    @Test
+    void writeCustomMessage() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/members/none");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        resolver.resolveException(request, response, null, new NotFoundException("없는 사용자: none"));
+
+        assertThat(response.getStatus()).isEqualTo(404);
+        assertThat(response.getContentAsString(StandardCharsets.UTF_8))
+                .isEqualTo("{\"code\":\"NOT_FOUND\",\"message\":\"없는 사용자: none\"}");
+    }
+
+    @Test
+    void skipNonApiRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/error-ex");
+        request.addHeader("Accept", "text/html");
+
+        assertThat(resolver.resolveException(request, new MockHttpServletResponse(), null, BadRequestException.INSTANCE)).isNull();
+        assertThat(resolver.resolveException(new MockHttpServletRequest("GET", "/api/members/ex"),
+                new MockHttpServletResponse(), null, new RuntimeException())).isNull();
+    }
+}
@@ -0,0 +1,38 @@
+package hello.login;
+
+import hello.login.web.session.MemorySessionStore;
+import hello.login.web.session.OffHeapSessionStore;
+import hello.login.web.session.SessionStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Slf4j
+@Configuration
+public class SessionStoreConfig {
+
+    @Value("${session.store.type:memory}")
+    private String type;
+
+    @Value("${session.store.idle-timeout:30m}")
+    private Duration idleTimeout;
+
+    @Value("${session.store.absolute-timeout:8h}")
+    private Duration absoluteTimeout;
+
+    @Value("${session.store.max-size:100000}")
+    private int maxSize;
+
+    @Bean
+    public SessionStore sessionStore() {
+        log.info("session store type={}, idleTimeout={}, absoluteTimeout={}, maxSize={}",
+                type, idleTimeout, absoluteTimeout, maxSize);
+        if ("offheap".equals(type)) {
+            return new OffHeapSessionStore(idleTimeout, absoluteTimeout, maxSize);
+        }
+        return new MemorySessionStore(idleTimeout, absoluteTimeout, maxSize);
+    }
+}
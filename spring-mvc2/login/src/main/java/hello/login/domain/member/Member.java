@@ -3,9 +3,10 @@ package hello.login.domain.member;
 import lombok.Data;
 
 import javax.validation.constraints.NotEmpty;
+import java.io.Serializable;
 
 @Data
-public class Member {
+public class Member implements Serializable {
 
     private Long id;
 
@@ -4,42 +4,92 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Repository;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * 동시성을 고려한 회원 저장소
+ * - loginId -> id 보조 인덱스로 로그인 아이디 조회를 O(1) 로 한다 (loginId 는 중복 불가)
+ * - 인덱스는 save/update/delete 에서 같이 바꾼다, 저장된 Member 의 loginId 를 setter 로 직접 바꾸면 안된다
+ * - findAll 은 복사하지 않은 읽기 전용 뷰를 돌려준다 (순회 중 변경은 반영될 수도, 안될 수도 있다)
+ */
 @Slf4j
 @Repository
 public class MemberRepository {
 
-    private static Map<Long, Member> store = new HashMap<>();
-    private static long sequence = 0L;
+    private static final Map<Long, Member> store = new ConcurrentHashMap<>(); //static
+    private static final Map<String, Long> loginIdIndex = new ConcurrentHashMap<>(); //static
+    private static final AtomicLong sequence = new AtomicLong(); //static
 
     public Member save(Member member) {
-        member.setId(++sequence);
+        long id = sequence.incrementAndGet();
+        // 인덱스를 먼저 선점한다 -> 같은 loginId 로 동시에 가입해도 한 명만 성공
+        Long existing = loginIdIndex.putIfAbsent(requireLoginId(member.getLoginId()), id);
+        if (existing != null) {
+            throw new IllegalStateException("이미 존재하는 로그인 아이디입니다. loginId = " + member.getLoginId());
+        }
+        member.setId(id);
         log.info("save : member = {}", member);
-        store.put(member.getId(), member);
+        store.put(id, member);
         return member;
     }
 
     public Member findById(Long id) {
-        return store.get(id);
+        return id == null ? null : store.get(id);
     }
 
     public Optional<Member> findByLoginId(String loginId) {
-//        List<Member> all = findAll();
-//        for (Member m : all) {
-//            if (m.getLoginId().equals(loginId)) {
-//                return Optional.of(m);
-//            }
-//        }
-//        return Optional.empty();
-        return findAll().stream().filter(m -> m.getLoginId().equals(loginId)).findFirst();
+        if (loginId == null) {
+            return Optional.empty();
+        }
+        Long id = loginIdIndex.get(loginId);
+        // 인덱스만 등록되고 아직 저장 전이면 없는 회원으로 본다
+        return id == null ? Optional.empty() : Optional.ofNullable(store.get(id));
     }
 
-    public List<Member> findAll() {
-        return new ArrayList<>(store.values());
+    public Collection<Member> findAll() {
+        return Collections.unmodifiableCollection(store.values());
+    }
+
+    public void update(Long memberId, Member updateParam) {
+        Member findMember = store.get(memberId);
+        if (findMember == null) {
+            throw new NoSuchElementException("회원을 찾을 수 없습니다. id = " + memberId);
+        }
+        synchronized (findMember) {
+            String oldLoginId = findMember.getLoginId();
+            String newLoginId = requireLoginId(updateParam.getLoginId());
+            if (!newLoginId.equals(oldLoginId)) {
+                Long existing = loginIdIndex.putIfAbsent(newLoginId, memberId);
+                if (existing != null && !existing.equals(memberId)) {
+                    throw new IllegalStateException("이미 존재하는 로그인 아이디입니다. loginId = " + newLoginId);
+                }
+            }
+            findMember.setLoginId(newLoginId);
+            findMember.setName(updateParam.getName());
+            findMember.setPassword(updateParam.getPassword());
+            if (!newLoginId.equals(oldLoginId)) {
+                loginIdIndex.remove(oldLoginId, memberId);
+            }
+        }
+    }
+
+    public void delete(Long memberId) {
+        Member removed = store.remove(memberId);
+        if (removed != null) {
+            loginIdIndex.remove(removed.getLoginId(), memberId);
+        }
     }
 
     public void clearStore() {
         store.clear();
+        loginIdIndex.clear();
     }
 
+    private static String requireLoginId(String loginId) {
+        if (loginId == null) {
+            throw new IllegalArgumentException("loginId 는 필수입니다.");
+        }
+        return loginId;
+    }
 }
@@ -1,15 +1,24 @@
 package hello.login.web.filter;
 
+import hello.login.web.interceptor.LogInterceptor;
+import hello.login.web.trace.AsyncRequestLogger;
+import hello.login.web.trace.RequestIdGenerator;
 import lombok.extern.slf4j.Slf4j;
 
 import javax.servlet.*;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.UUID;
 
 @Slf4j
 public class LogFilter implements Filter {
 
+    private final AsyncRequestLogger requestLogger;
+
+    public LogFilter(AsyncRequestLogger requestLogger) {
+        this.requestLogger = requestLogger;
+    }
+
     @Override
     public void init(FilterConfig filterConfig) throws ServletException {
         log.info("log filter init");
@@ -17,19 +26,27 @@ public class LogFilter implements Filter {
 
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
-        log.info("log filter doFilter");
         HttpServletRequest httpRequest = (HttpServletRequest) request;
         String requestURI = httpRequest.getRequestURI();
 
-        String uuid = UUID.randomUUID().toString();
+        // 인터셉터도 같은 id 를 쓰도록 요청에 보관, ERROR 디스패치는 원래 요청의 id 를 이어서 쓴다
+        String logId = (String) request.getAttribute(LogInterceptor.LOG_ID);
+        if (logId == null) {
+            logId = RequestIdGenerator.next();
+            request.setAttribute(LogInterceptor.LOG_ID, logId);
+        }
 
+        long start = System.nanoTime();
+        Throwable error = null;
         try {
-            log.info("REQUEST [{}][{}]", uuid, requestURI);
             chain.doFilter(request, response);
         } catch (Exception e) {
+            error = e;
             throw e;
         } finally {
-            log.info("RESPONSE [{}][{}]", uuid, requestURI);
+            // 요청/응답 두 줄 대신 응답 상태와 처리 시간을 담은 한 줄을 비동기로 기록
+            int status = error == null ? ((HttpServletResponse) response).getStatus() : HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+            requestLogger.log(logId, request.getDispatcherType().name(), requestURI, status, System.nanoTime() - start, error);
         }
     }
 
@@ -1,5 +1,7 @@
 package hello.login.web.interceptor;
 
+import hello.login.web.trace.AsyncRequestLogger;
+import hello.login.web.trace.RequestIdGenerator;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.HandlerInterceptor;
@@ -7,39 +9,49 @@ import org.springframework.web.servlet.ModelAndView;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.util.UUID;
 
 @Slf4j
 public class LogInterceptor implements HandlerInterceptor {
 
     public static final String LOG_ID = "logId";
+    public static final String LOG_START = "logStart";
+
+    private final AsyncRequestLogger requestLogger;
+
+    public LogInterceptor(AsyncRequestLogger requestLogger) {
+        this.requestLogger = requestLogger;
+    }
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
-        String requestURI = request.getRequestURI();
-        String uuid = UUID.randomUUID().toString();
-        request.setAttribute(LOG_ID, uuid);
+        // LogFilter 가 먼저 id 를 만들었으면 그대로 사용
+        if (request.getAttribute(LOG_ID) == null) {
+            request.setAttribute(LOG_ID, RequestIdGenerator.next());
+        }
+        request.setAttribute(LOG_START, System.nanoTime());
         // @RequestMapping을 사용하면 HandlerMethod가 넘어오고
         // 정적리소스를 사용하면 ResourceHttpRequestHandler가 넘어온다
         if (handler instanceof HandlerMethod) {
             HandlerMethod hm = (HandlerMethod) handler; // 호출할 컨트롤러 메서드의 모든 정보가 포함되어 있다
         }
-        log.info("REQUEST [{}][{}][{}]", uuid, requestURI, handler);
         return true; // true로 설정해야 다음 컨트롤러로 이동
     }
 
     @Override
     public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler, ModelAndView modelAndView) throws Exception {
-        log.info("postHandle [{}]", modelAndView);
+        log.debug("postHandle [{}]", modelAndView);
     }
 
     @Override
     public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) throws Exception {
-        String requestURI = request.getRequestURI();
         String logId = (String) request.getAttribute(LOG_ID);
-        log.info("RESPONSE [{}][{}][{}]", logId, requestURI, handler);
-        if (ex != null) {
-            log.error("afterCompletion error", ex);
-        }
+        // preHandle 이 실행되지 않았으면(앞선 인터셉터가 false 반환 등) 시작 시간이 없다
+        Long start = (Long) request.getAttribute(LOG_START);
+        long latencyNanos = start == null ? 0 : System.nanoTime() - start;
+        // 요청 스레드에서는 링 버퍼에 넣기만 하고 실제 로그는 백그라운드에서 기록
+        // 여기까지 올라온 예외는 LogFilter 까지 전파되어 스택 트레이스가 거기서 남으므로 상태만 기록한다
+        int status = ex == null ? response.getStatus() : HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        requestLogger.log(logId, request.getDispatcherType().name(), request.getRequestURI(),
+                status, latencyNanos, null);
     }
 }
@@ -29,7 +29,12 @@ public class MemberController {
         if (bindingResult.hasErrors()) {
             return "members/addMemberForm";
         }
-        memberRepository.save(member);
+        try {
+            memberRepository.save(member);
+        } catch (IllegalStateException e) {
+            bindingResult.rejectValue("loginId", "duplicate", "이미 사용 중인 아이디입니다.");
+            return "members/addMemberForm";
+        }
         return "redirect:/";
     }
 }
@@ -0,0 +1,267 @@
+package hello.login.web.session;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * idle/absolute TTL 과 최대 크기(LRU)를 가지는 메모리 세션 저장소
+ * 만료된 세션은 조회 시점에 바로 걸러내고, 실제 제거는 timer wheel 스위퍼가 주기적으로 처리한다
+ */
+@Slf4j
+public class MemorySessionStore implements SessionStore, AutoCloseable {
+
+    private static final int WHEEL_SIZE = 64;
+    private static final long TICK_MILLIS = 1000L;
+
+    private final long idleTimeoutMillis;
+    private final long absoluteTimeoutMillis;
+    private final int maxSize;
+    private final LongSupplier clock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // accessOrder = true -> 가장 오래 사용하지 않은 세션이 맨 앞 (LRU)
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // timer wheel: 만료 예정 tick 에 해당하는 버킷에 Entry 를 담아둔다
+    // 스위퍼가 entries.get() 을 부르면 접근 순서가 바뀌어 LRU 가 깨지므로 Entry 를 직접 들고 있는다
+    private final Set<Entry>[] wheel;
+    private long lastSweptTick;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder expirationCount = new LongAdder();
+
+    private final ScheduledExecutorService sweeper;
+
+    public MemorySessionStore(Duration idleTimeout, Duration absoluteTimeout, int maxSize) {
+        this(idleTimeout, absoluteTimeout, maxSize, System::currentTimeMillis, true);
+    }
+
+    @SuppressWarnings("unchecked")
+    MemorySessionStore(Duration idleTimeout, Duration absoluteTimeout, int maxSize,
+                       LongSupplier clock, boolean startSweeper) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        this.idleTimeoutMillis = idleTimeout.toMillis();
+        this.absoluteTimeoutMillis = absoluteTimeout.toMillis();
+        this.maxSize = maxSize;
+        this.clock = clock;
+        this.wheel = new Set[WHEEL_SIZE];
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel[i] = new HashSet<>();
+        }
+        this.lastSweptTick = clock.getAsLong() / TICK_MILLIS;
+
+        if (startSweeper) {
+            sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "session-store-sweeper");
+                thread.setDaemon(true);
+                return thread;
+            });
+            sweeper.scheduleWithFixedDelay(this::sweep, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+        } else {
+            sweeper = null;
+        }
+    }
+
+    @Override
+    public void put(String sessionId, Object value) {
+        long now = clock.getAsLong();
+        Entry entry = new Entry(sessionId, encode(value), now);
+        lock.lock();
+        try {
+            Entry old = entries.put(sessionId, entry);
+            if (old != null) {
+                old.removed = true;
+                release(old.value);
+            }
+            schedule(entry, lastSweptTick + 1);
+            evictIfNecessary();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Object get(String sessionId) {
+        long now = clock.getAsLong();
+        Object stored;
+        lock.lock();
+        try {
+            Entry entry = entries.get(sessionId);
+            if (entry == null) {
+                missCount.increment();
+                return null;
+            }
+            if (entry.isExpired(now)) {
+                removeEntry(sessionId);
+                expirationCount.increment();
+                missCount.increment();
+                return null;
+            }
+            // 접근 시간만 갱신, wheel 재배치는 스위퍼가 버킷을 처리할 때 한다
+            entry.lastAccessedAt = now;
+            stored = entry.value;
+        } finally {
+            lock.unlock();
+        }
+        hitCount.increment();
+        return decode(stored);
+    }
+
+    @Override
+    public void remove(String sessionId) {
+        lock.lock();
+        try {
+            removeEntry(sessionId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public SessionStoreStats stats() {
+        return new SessionStoreStats(hitCount.sum(), missCount.sum(),
+                evictionCount.sum(), expirationCount.sum(), size());
+    }
+
+    /**
+     * 지난 tick 부터 현재 tick 까지의 버킷을 돌면서 만료된 세션을 제거한다
+     * 아직 만료되지 않은 세션(중간에 접근된 세션)은 새 만료 시점의 버킷으로 옮긴다
+     */
+    void sweep() {
+        long now = clock.getAsLong();
+        long currentTick = now / TICK_MILLIS;
+        lock.lock();
+        try {
+            long from = Math.max(lastSweptTick + 1, currentTick - WHEEL_SIZE + 1);
+            for (long tick = from; tick <= currentTick; tick++) {
+                Set<Entry> bucket = wheel[(int) (tick % WHEEL_SIZE)];
+                if (bucket.isEmpty()) {
+                    continue;
+                }
+                Set<Entry> due = new HashSet<>(bucket);
+                bucket.clear();
+                for (Entry entry : due) {
+                    if (entry.removed) {
+                        continue;
+                    }
+                    if (entry.isExpired(now)) {
+                        removeEntry(entry.sessionId);
+                        expirationCount.increment();
+                    } else {
+                        schedule(entry, currentTick + 1);
+                    }
+                }
+            }
+            lastSweptTick = currentTick;
+        } catch (RuntimeException e) {
+            log.error("session sweep failed", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+        }
+        lock.lock();
+        try {
+            for (Entry entry : entries.values()) {
+                release(entry.value);
+            }
+            entries.clear();
+            for (Set<Entry> bucket : wheel) {
+                bucket.clear();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 저장 형태 변환 hook, 기본은 객체를 그대로 heap 에 보관한다
+    protected Object encode(Object value) {
+        return value;
+    }
+
+    protected Object decode(Object stored) {
+        return stored;
+    }
+
+    protected void release(Object stored) {
+    }
+
+    private void schedule(Entry entry, long minTick) {
+        // 이미 처리한 tick 에 넣으면 wheel 이 한 바퀴 돌 때까지 밀리므로 다음 tick 이후로 보정한다
+        long tick = Math.max(entry.deadline() / TICK_MILLIS, minTick);
+        wheel[(int) (tick % WHEEL_SIZE)].add(entry);
+    }
+
+    private void evictIfNecessary() {
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (entries.size() > maxSize && it.hasNext()) {
+            Map.Entry<String, Entry> eldest = it.next();
+            it.remove();
+            eldest.getValue().removed = true;
+            release(eldest.getValue().value);
+            evictionCount.increment();
+        }
+    }
+
+    private void removeEntry(String sessionId) {
+        Entry removed = entries.remove(sessionId);
+        if (removed != null) {
+            removed.removed = true;
+            release(removed.value);
+        }
+    }
+
+    private final class Entry {
+        private final String sessionId;
+        private final Object value;
+        private final long createdAt;
+        private long lastAccessedAt;
+        // entries 에서 빠졌으면 wheel 에 남아 있어도 무시한다
+        private boolean removed;
+
+        Entry(String sessionId, Object value, long now) {
+            this.sessionId = sessionId;
+            this.value = value;
+            this.createdAt = now;
+            this.lastAccessedAt = now;
+        }
+
+        long deadline() {
+            return Math.min(lastAccessedAt + idleTimeoutMillis, createdAt + absoluteTimeoutMillis);
+        }
+
+        boolean isExpired(long now) {
+            return now >= deadline();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package hello.login.web.session;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 세션 값을 직렬화해서 direct ByteBuffer(off-heap)에 보관하는 저장소
+ * heap 에는 세션 id 와 버퍼 참조만 남기 때문에 세션이 많아도 GC 대상 객체 그래프가 작다
+ * 값은 Serializable 이어야 하고, 조회할 때마다 역직렬화된 복사본이 반환된다
+ */
+public class OffHeapSessionStore extends MemorySessionStore {
+
+    private final AtomicLong offHeapBytes = new AtomicLong();
+
+    public OffHeapSessionStore(Duration idleTimeout, Duration absoluteTimeout, int maxSize) {
+        super(idleTimeout, absoluteTimeout, maxSize);
+    }
+
+    OffHeapSessionStore(Duration idleTimeout, Duration absoluteTimeout, int maxSize,
+                        LongSupplier clock, boolean startSweeper) {
+        super(idleTimeout, absoluteTimeout, maxSize, clock, startSweeper);
+    }
+
+    public long getOffHeapBytes() {
+        return offHeapBytes.get();
+    }
+
+    @Override
+    protected Object encode(Object value) {
+        if (!(value instanceof Serializable)) {
+            throw new IllegalArgumentException("off-heap session value must be Serializable: " + value.getClass());
+        }
+        byte[] bytes = serialize(value);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes).flip();
+        offHeapBytes.addAndGet(bytes.length);
+        return buffer;
+    }
+
+    @Override
+    protected Object decode(Object stored) {
+        // 여러 스레드가 동시에 읽을 수 있으므로 position 을 공유하지 않는 view 로 읽는다
+        ByteBuffer buffer = ((ByteBuffer) stored).duplicate();
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return deserialize(bytes);
+    }
+
+    @Override
+    protected void release(Object stored) {
+        offHeapBytes.addAndGet(-((ByteBuffer) stored).capacity());
+    }
+
+    private static byte[] serialize(Object value) {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(256);
+        try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+            oos.writeObject(value);
+        } catch (NotSerializableException e) {
+            throw new IllegalArgumentException("off-heap session value must be Serializable", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bos.toByteArray();
+    }
+
+    private static Object deserialize(byte[] bytes) {
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return ois.readObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
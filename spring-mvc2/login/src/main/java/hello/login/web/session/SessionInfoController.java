@@ -1,5 +1,6 @@
 package hello.login.web.session;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -11,8 +12,11 @@ import java.util.Enumeration;
 
 @Slf4j
 @RestController
+@RequiredArgsConstructor
 public class SessionInfoController {
 
+    private final SessionManager sessionManager;
+
     @GetMapping("/session-info")
     public String sessionInfo(HttpServletRequest request) {
         HttpSession session = request.getSession(false);
@@ -30,4 +34,10 @@ public class SessionInfoController {
         log.info("isNew={}", session.isNew());
         return "세션 출력";
     }
+
+    // SessionManager 저장소 크기 산정용 지표 (hit/miss/eviction/size)
+    @GetMapping("/session-store/stats")
+    public SessionStoreStats sessionStoreStats() {
+        return sessionManager.stats();
+    }
 }
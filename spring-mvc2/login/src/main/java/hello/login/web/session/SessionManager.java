@@ -1,20 +1,29 @@
 package hello.login.web.session;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import javax.servlet.http.Cookie;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.time.Duration;
 import java.util.Arrays;
-import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 public class SessionManager {
 
     public static final String SESSION_COOKIE_NAME = "mySessionId";
-    private Map<String, Object> sessionStore = new ConcurrentHashMap<>();
+    private final SessionStore sessionStore;
+
+    public SessionManager() {
+        this(new MemorySessionStore(Duration.ofMinutes(30), Duration.ofHours(8), 100_000));
+    }
+
+    @Autowired
+    public SessionManager(SessionStore sessionStore) {
+        this.sessionStore = sessionStore;
+    }
 
     // create session
     public void createSession(Object value, HttpServletResponse response) {
@@ -55,5 +64,9 @@ public class SessionManager {
             sessionStore.remove(sessionCookie.getValue());
         }
     }
+
+    public SessionStoreStats stats() {
+        return sessionStore.stats();
+    }
 }
 
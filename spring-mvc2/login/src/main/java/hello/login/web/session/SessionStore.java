@@ -0,0 +1,19 @@
+package hello.login.web.session;
+
+/**
+ * SessionManager 가 사용하는 세션 저장소
+ * 구현체에 따라 만료(idle/absolute TTL), 최대 크기, 저장 위치(heap/off-heap)가 달라진다
+ */
+public interface SessionStore {
+
+    void put(String sessionId, Object value);
+
+    // 만료된 세션은 null 반환
+    Object get(String sessionId);
+
+    void remove(String sessionId);
+
+    int size();
+
+    SessionStoreStats stats();
+}
@@ -0,0 +1,28 @@
+package hello.login.web.session;
+
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+public class SessionStoreStats {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;   // maxSize 초과로 LRU 제거
+    private final long expirationCount; // idle/absolute TTL 만료로 제거
+    private final int size;
+
+    public SessionStoreStats(long hitCount, long missCount, long evictionCount, long expirationCount, int size) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.expirationCount = expirationCount;
+        this.size = size;
+    }
+
+    public double getHitRatio() {
+        long total = hitCount + missCount;
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+}
@@ -0,0 +1,126 @@
+package hello.login.web.trace;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 요청 로그를 링 버퍼에 넣고 백그라운드 스레드가 꺼내서 기록한다
+ * - 요청 스레드는 미리 만들어 둔 슬롯에 값만 채우고 바로 돌아간다 (로그 I/O, 메시지 포맷팅 없음)
+ * - 버퍼가 가득 차면 요청 스레드를 막지 않고 해당 로그를 버린다 (dropped 로 집계)
+ */
+@Slf4j
+public class AsyncRequestLogger implements AutoCloseable {
+
+    private final Event[] ring;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();  // 다음에 쓸 위치 (생산자)
+    private final AtomicLong consumed = new AtomicLong(); // 다음에 읽을 위치 (소비자)
+    private final LongAdder dropped = new LongAdder();
+
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public AsyncRequestLogger(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two: " + capacity);
+        }
+        ring = new Event[capacity];
+        for (int i = 0; i < capacity; i++) {
+            ring[i] = new Event();
+        }
+        mask = capacity - 1;
+
+        writer = new Thread(this::drainLoop, "request-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * @param error 예외가 없으면 null
+     */
+    public void log(String requestId, String dispatcherType, String requestURI, int status, long latencyNanos, Throwable error) {
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if (sequence - consumed.get() >= ring.length) {
+                dropped.increment();
+                return;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+
+        Event event = ring[(int) (sequence & mask)];
+        event.requestId = requestId;
+        event.dispatcherType = dispatcherType;
+        event.requestURI = requestURI;
+        event.status = status;
+        event.latencyNanos = latencyNanos;
+        event.error = error;
+        event.published = sequence; // volatile 쓰기로 소비자에게 공개
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    private void drainLoop() {
+        while (running) {
+            if (!drain()) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            }
+        }
+        drain();
+    }
+
+    // 공개된 이벤트를 모두 기록, 하나라도 기록했으면 true
+    private boolean drain() {
+        boolean wrote = false;
+        long sequence = consumed.get();
+        Event event = ring[(int) (sequence & mask)];
+        while (event.published == sequence) {
+            write(event);
+            event.requestId = null;
+            event.requestURI = null;
+            event.error = null;
+            consumed.set(++sequence);
+            event = ring[(int) (sequence & mask)];
+            wrote = true;
+        }
+        return wrote;
+    }
+
+    private void write(Event event) {
+        if (event.error == null) {
+            log.info("REQUEST [{}][{}][{}] status={} latency={}us",
+                    event.requestId, event.dispatcherType, event.requestURI, event.status, event.latencyNanos / 1000);
+        } else {
+            // 마지막 인자로 Throwable 을 넘겨야 스택 트레이스까지 기록된다
+            log.error("REQUEST [{}][{}][{}] status={} latency={}us",
+                    event.requestId, event.dispatcherType, event.requestURI, event.status, event.latencyNanos / 1000,
+                    event.error);
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+        long droppedCount = dropped.sum();
+        if (droppedCount > 0) {
+            log.warn("request log dropped={}", droppedCount);
+        }
+    }
+
+    private static final class Event {
+        private volatile long published = -1;
+        private String requestId;
+        private String dispatcherType;
+        private String requestURI;
+        private int status;
+        private long latencyNanos;
+        private Throwable error;
+    }
+}
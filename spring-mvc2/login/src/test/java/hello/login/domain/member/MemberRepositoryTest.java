@@ -0,0 +1,100 @@
+package hello.login.domain.member;
+
+import hello.login.domain.login.LoginService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class MemberRepositoryTest {
+
+    MemberRepository memberRepository = new MemberRepository();
+
+    // 저장소가 static 이라 TestDataInit 이 넣은 회원이 남아 있을 수 있다
+    @BeforeEach
+    @AfterEach
+    void clear() {
+        memberRepository.clearStore();
+    }
+
+    @Test
+    void findByLoginId() {
+        Member member = memberRepository.save(member("test", "tester", "test!"));
+
+        assertThat(memberRepository.findByLoginId("test")).containsSame(member);
+        assertThat(memberRepository.findByLoginId("none")).isEmpty();
+        assertThat(memberRepository.findByLoginId(null)).isEmpty();
+
+        LoginService loginService = new LoginService(memberRepository);
+        assertThat(loginService.login("test", "test!")).isSameAs(member);
+        assertThat(loginService.login("test", "wrong")).isNull();
+    }
+
+    @Test
+    void duplicateLoginId() {
+        memberRepository.save(member("test", "tester", "test!"));
+
+        assertThatThrownBy(() -> memberRepository.save(member("test", "other", "pw")))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(memberRepository.findAll()).hasSize(1);
+    }
+
+    @Test
+    void updateAndDelete() {
+        Member member = memberRepository.save(member("before", "tester", "pw"));
+        memberRepository.save(member("taken", "other", "pw"));
+
+        memberRepository.update(member.getId(), member("after", "tester2", "pw2"));
+        assertThat(memberRepository.findByLoginId("before")).isEmpty();
+        assertThat(memberRepository.findByLoginId("after")).containsSame(member);
+        assertThat(member.getName()).isEqualTo("tester2");
+
+        assertThatThrownBy(() -> memberRepository.update(member.getId(), member("taken", "tester", "pw")))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(memberRepository.findByLoginId("after")).containsSame(member);
+
+        memberRepository.delete(member.getId());
+        assertThat(memberRepository.findByLoginId("after")).isEmpty();
+        assertThat(memberRepository.findById(member.getId())).isNull();
+    }
+
+    @Test
+    void concurrentSave() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        AtomicInteger duplicates = new AtomicInteger();
+        for (int i = 0; i < 8; i++) {
+            executor.submit(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    try {
+                        memberRepository.save(member("user" + j, "name", "pw"));
+                    } catch (IllegalStateException e) {
+                        duplicates.incrementAndGet();
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        // 같은 loginId 는 한 명만 저장된다
+        assertThat(memberRepository.findAll()).hasSize(1000);
+        assertThat(duplicates.get()).isEqualTo(7000);
+        for (int j = 0; j < 1000; j++) {
+            assertThat(memberRepository.findByLoginId("user" + j)).isPresent();
+        }
+    }
+
+    private static Member member(String loginId, String name, String password) {
+        Member member = new Member();
+        member.setLoginId(loginId);
+        member.setName(name);
+        member.setPassword(password);
+        return member;
+    }
+}
@@ -0,0 +1,125 @@
+package hello.login.web.session;
+
+import hello.login.domain.member.Member;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+class MemorySessionStoreTest {
+
+    AtomicLong now = new AtomicLong(1_000_000L);
+
+    @Test
+    void idleTimeout() {
+        MemorySessionStore store = new MemorySessionStore(Duration.ofSeconds(10), Duration.ofHours(1), 100, now::get, false);
+        store.put("a", "valueA");
+
+        // 접근할 때마다 idle 시간이 연장된다
+        now.addAndGet(9_000);
+        assertThat(store.get("a")).isEqualTo("valueA");
+        now.addAndGet(9_000);
+        assertThat(store.get("a")).isEqualTo("valueA");
+
+        now.addAndGet(10_000);
+        assertThat(store.get("a")).isNull();
+        assertThat(store.stats().getExpirationCount()).isEqualTo(1);
+    }
+
+    @Test
+    void absoluteTimeout() {
+        MemorySessionStore store = new MemorySessionStore(Duration.ofSeconds(10), Duration.ofSeconds(25), 100, now::get, false);
+        store.put("a", "valueA");
+
+        for (int i = 0; i < 3; i++) {
+            now.addAndGet(8_000);
+            assertThat(store.get("a")).isEqualTo("valueA");
+        }
+        now.addAndGet(8_000);
+        assertThat(store.get("a")).isNull();
+    }
+
+    @Test
+    void sweepRemovesExpiredSessions() {
+        MemorySessionStore store = new MemorySessionStore(Duration.ofSeconds(5), Duration.ofHours(1), 100, now::get, false);
+        store.put("a", "valueA");
+        store.put("b", "valueB");
+
+        now.addAndGet(3_000);
+        store.get("b");
+        now.addAndGet(3_000);
+        store.sweep();
+
+        // a 는 만료되어 제거, b 는 접근으로 연장되어 다음 버킷으로 옮겨진다
+        assertThat(store.size()).isEqualTo(1);
+
+        now.addAndGet(5_000);
+        store.sweep();
+        assertThat(store.size()).isZero();
+        assertThat(store.stats().getExpirationCount()).isEqualTo(2);
+    }
+
+    @Test
+    void lruEviction() {
+        MemorySessionStore store = new MemorySessionStore(Duration.ofMinutes(30), Duration.ofHours(1), 2, now::get, false);
+        store.put("a", "valueA");
+        store.put("b", "valueB");
+        store.get("a");
+        store.put("c", "valueC");
+
+        assertThat(store.get("b")).isNull();
+        assertThat(store.get("a")).isEqualTo("valueA");
+        assertThat(store.get("c")).isEqualTo("valueC");
+
+        SessionStoreStats stats = store.stats();
+        assertThat(stats.getEvictionCount()).isEqualTo(1);
+        assertThat(stats.getHitCount()).isEqualTo(3);
+        assertThat(stats.getMissCount()).isEqualTo(1);
+        assertThat(stats.getSize()).isEqualTo(2);
+    }
+
+    @Test
+    void sweepDoesNotChangeLruOrder() {
+        MemorySessionStore store = new MemorySessionStore(Duration.ofSeconds(5), Duration.ofHours(1), 2, now::get, false);
+        store.put("a", "valueA");
+        now.addAndGet(2000);
+        store.put("b", "valueB");
+        now.addAndGet(1000);
+        store.get("a");
+        now.addAndGet(1000);
+        store.get("b");
+
+        // a 의 처음 만료 버킷을 처리한다, a 는 중간에 접근해서 살아 있으므로 다시 예약만 된다
+        now.addAndGet(1000);
+        store.sweep();
+        assertThat(store.size()).isEqualTo(2);
+
+        // 가장 오래 접근하지 않은 세션은 여전히 a
+        store.put("c", "valueC");
+        assertThat(store.get("a")).isNull();
+        assertThat(store.get("b")).isEqualTo("valueB");
+        assertThat(store.get("c")).isEqualTo("valueC");
+        assertThat(store.stats().getEvictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void offHeap() {
+        OffHeapSessionStore store = new OffHeapSessionStore(Duration.ofMinutes(30), Duration.ofHours(1), 100, now::get, false);
+        Member member = new Member();
+        member.setLoginId("test");
+        member.setName("tester");
+        store.put("a", member);
+
+        Object result = store.get("a");
+        assertThat(result).isEqualTo(member);
+        assertThat(result).isNotSameAs(member);
+        assertThat(store.getOffHeapBytes()).isPositive();
+
+        store.remove("a");
+        assertThat(store.getOffHeapBytes()).isZero();
+        assertThatThrownBy(() -> store.put("b", new Object()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,47 @@
+package hello.login.web.trace;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class RequestIdGeneratorTest {
+
+    @Test
+    void uniqueAcrossThreads() throws InterruptedException {
+        int threads = 8;
+        int perThread = 10_000;
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    ids.add(RequestIdGenerator.next());
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(ids).hasSize(threads * perThread);
+    }
+
+    @Test
+    void asyncLoggerDrains() throws InterruptedException {
+        AsyncRequestLogger requestLogger = new AsyncRequestLogger(1024);
+        for (int i = 0; i < 100; i++) {
+            requestLogger.log(RequestIdGenerator.next(), "REQUEST", "/items", 200, 1000, null);
+        }
+        requestLogger.close();
+
+        assertThat(requestLogger.getDroppedCount()).isZero();
+        assertThatThrownBy(() -> new AsyncRequestLogger(1000))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
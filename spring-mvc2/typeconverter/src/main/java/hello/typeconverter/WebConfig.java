@@ -12,6 +12,7 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    // 등록된 컨버터/포매터 조회는 ConversionService 가 (sourceType, targetType) 단위로 이미 캐시한다
     @Override
     public void addFormatters(FormatterRegistry registry) {
 //        registry.addConverter(new StringToIntegerConverter());
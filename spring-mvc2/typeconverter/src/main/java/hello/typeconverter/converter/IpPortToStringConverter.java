@@ -8,7 +8,7 @@ import org.springframework.core.convert.converter.Converter;
 public class IpPortToStringConverter implements Converter<IpPort, String> {
     @Override
     public String convert(IpPort source) {
-        log.info("convert source = {}", source);
+        log.debug("convert source = {}", source);
         return source.getIp() + ":" + source.getPort();
     }
 }
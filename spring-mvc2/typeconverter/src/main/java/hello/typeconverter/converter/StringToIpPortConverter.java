@@ -7,12 +7,16 @@ import org.springframework.core.convert.converter.Converter;
 @Slf4j
 public class StringToIpPortConverter implements Converter<String, IpPort> {
 
+    // "ip:port" 를 정규식(split) 없이 직접 자른다, port 는 substring 없이 바로 숫자로 읽는다
     @Override
     public IpPort convert(String source) {
-        log.info("convert source = {}", source);
-        String[] split = source.split(":");
-        String ip = split[0];
-        int port = Integer.parseInt(split[1]);
+        log.debug("convert source = {}", source);
+        int colon = source.indexOf(':');
+        if (colon <= 0 || colon == source.length() - 1 || source.indexOf(':', colon + 1) >= 0) {
+            throw new IllegalArgumentException("ip:port 형식이 아닙니다. source = " + source);
+        }
+        String ip = source.substring(0, colon);
+        int port = Integer.parseInt(source, colon + 1, source.length(), 10);
         return new IpPort(ip, port);
     }
 }
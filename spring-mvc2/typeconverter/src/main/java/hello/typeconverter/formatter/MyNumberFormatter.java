@@ -6,20 +6,42 @@ import org.springframework.format.Formatter;
 import java.text.NumberFormat;
 import java.text.ParseException;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 public class MyNumberFormatter implements Formatter<Number> {
+
+    // locale 은 요청(Accept-Language)에서 오므로 캐시할 locale 수를 제한한다, 넘으면 캐시하지 않고 매번 만든다
+    static final int MAX_LOCALES = 256;
+
+    // NumberFormat 은 만들기 비싸고 thread-safe 하지 않다 -> locale 별 원본을 캐시하고 호출마다 clone 해서 쓴다
+    private final Map<Locale, NumberFormat> prototypes = new ConcurrentHashMap<>();
+
     @Override
     public Number parse(String text, Locale locale) throws ParseException { // 문자를 객체로 변경
-        log.info("text={}, local={}", text, locale);
-        NumberFormat format = NumberFormat.getInstance(locale);
-        return format.parse(text);
+        log.debug("text={}, local={}", text, locale);
+        return numberFormat(locale).parse(text);
     }
 
     @Override
     public String print(Number object, Locale locale) { // 객체를 문자로 변경
-        log.info("object={}, locale={}", object, locale);
-        NumberFormat instance = NumberFormat.getInstance(locale);
-        return instance.format(object);
+        log.debug("object={}, locale={}", object, locale);
+        return numberFormat(locale).format(object);
+    }
+
+    int cachedLocaleCount() {
+        return prototypes.size();
+    }
+
+    private NumberFormat numberFormat(Locale locale) {
+        NumberFormat prototype = prototypes.get(locale);
+        if (prototype == null) {
+            prototype = NumberFormat.getInstance(locale);
+            if (prototypes.size() < MAX_LOCALES) {
+                prototypes.putIfAbsent(locale, prototype);
+            }
+        }
+        return (NumberFormat) prototype.clone();
     }
 }
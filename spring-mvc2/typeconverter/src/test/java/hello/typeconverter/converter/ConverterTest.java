@@ -38,4 +38,14 @@ public class ConverterTest {
         assertThat(result.getPort()).isEqualTo(8000);
         assertThat(result).isEqualTo(new IpPort("127.0.0.1", 8000));
     }
+
+    @Test
+    void ipPortInvalid() {
+        StringToIpPortConverter converter = new StringToIpPortConverter();
+        assertThatThrownBy(() -> converter.convert("127.0.0.1")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> converter.convert(":8000")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> converter.convert("127.0.0.1:")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> converter.convert("a:1:2")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> converter.convert("127.0.0.1:80x")).isInstanceOf(NumberFormatException.class);
+    }
 }
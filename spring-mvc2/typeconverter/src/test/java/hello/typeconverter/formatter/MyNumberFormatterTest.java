@@ -4,7 +4,12 @@ import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -21,5 +26,32 @@ class MyNumberFormatterTest {
 
     @Test
     void print() {
+        String result = formatter.print(1000, Locale.KOREA);
+        assertThat(result).isEqualTo("1,000");
+        assertThat(formatter.print(1000.5, Locale.GERMANY)).isEqualTo("1.000,5");
     }
-}
\ No newline at end of file
+
+    @Test
+    void concurrentParse() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Number>> results = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            String text = String.format(Locale.KOREA, "%,d", i * 1000);
+            results.add(executor.submit(() -> formatter.parse(text, Locale.KOREA)));
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertThat(results.get(i).get()).isEqualTo((long) i * 1000);
+        }
+        executor.shutdown();
+    }
+
+    @Test
+    void localeCacheIsBounded() {
+        // 클라이언트가 Accept-Language 로 임의의 locale 을 계속 보내는 경우
+        for (int i = 0; i < MyNumberFormatter.MAX_LOCALES * 2; i++) {
+            Locale locale = new Locale.Builder().setLanguage("en").setRegion("US").setVariant("v" + i + "xxxx").build();
+            assertThat(formatter.print(1000, locale)).isEqualTo("1,000");
+        }
+        assertThat(formatter.cachedLocaleCount()).isEqualTo(MyNumberFormatter.MAX_LOCALES);
+    }
+}
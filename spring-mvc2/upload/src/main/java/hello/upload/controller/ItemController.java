@@ -3,24 +3,23 @@ package hello.upload.controller;
 import hello.upload.domain.Item;
 import hello.upload.domain.ItemRepository;
 import hello.upload.domain.UploadFile;
+import hello.upload.file.FileSender;
 import hello.upload.file.FileStore;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.tomcat.util.buf.UriUtil;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import org.springframework.web.util.UriUtils;
 
 import java.io.IOException;
-import java.net.MalformedURLException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.List;
 
 @Slf4j
@@ -30,6 +29,7 @@ public class ItemController {
 
     private final ItemRepository itemRepository;
     private final FileStore fileStore;
+    private final FileSender fileSender;
 
     @GetMapping("/items/new")
     public String newItem(@ModelAttribute ItemForm form) {
@@ -60,27 +60,37 @@ public class ItemController {
         return "item-view";
     }
 
-    @ResponseBody
     @GetMapping("/images/{filename}")
-    public Resource downloadImage(@PathVariable String filename) throws MalformedURLException {
-        return new UrlResource("file:" + fileStore.getFullPath(filename));
+    public void downloadImage(@PathVariable String filename,
+                              HttpServletRequest request, HttpServletResponse response) throws IOException {
+        fileSender.send(resolve(filename), null, null, request, response);
     }
 
     @GetMapping("/attach/{itemId}")
-    public ResponseEntity<Resource> downloadAttach(@PathVariable Long itemId) throws MalformedURLException {
+    public void downloadAttach(@PathVariable Long itemId,
+                               HttpServletRequest request, HttpServletResponse response) throws IOException {
         Item item = itemRepository.findById(itemId);
-        String storeFileName = item.getAttachFile().getStoreFileName();
-        String uploadFileName = item.getAttachFile().getUploadFileName();
-
-        UrlResource resource = new UrlResource("file:" + fileStore.getFullPath(storeFileName));
+        if (item == null || item.getAttachFile() == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        }
+        UploadFile attachFile = item.getAttachFile();
+        String storeFileName = attachFile.getStoreFileName();
+        String uploadFileName = attachFile.getUploadFileName();
 
         log.info("uploadFileName={}", uploadFileName);
 
         String encodedUploadFileName = UriUtils.encode(uploadFileName, StandardCharsets.UTF_8);
         String contentDisposition = "attachment; filename=\"" + encodedUploadFileName + "\"";
 
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition)
-                .body(resource);
+        fileSender.send(resolve(storeFileName), attachFile.getChecksum(), contentDisposition, request, response);
+    }
+
+    // 잘못된 저장 파일명(경로 이동 등)은 500 이 아니라 400 으로 응답한다
+    private Path resolve(String storeFileName) {
+        try {
+            return fileStore.resolve(storeFileName);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
     }
 }
@@ -0,0 +1,33 @@
+package hello.upload.controller;
+
+import hello.upload.domain.UploadFile;
+import hello.upload.file.FileStore;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+/**
+ * multipart 파싱 없이 요청 바디를 그대로 FileStore 로 흘려보내는 업로드
+ * 대용량 파일도 임시 파일이나 메모리에 먼저 모으지 않는다
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/stream")
+public class StreamUploadController {
+
+    private final FileStore fileStore;
+
+    @PostMapping("/upload")
+    public UploadFile upload(@RequestParam String filename, HttpServletRequest request) throws IOException {
+        UploadFile uploadFile = fileStore.storeFile(request.getInputStream(), filename);
+        log.info("uploadFile={}", uploadFile);
+        return uploadFile;
+    }
+}
@@ -6,9 +6,18 @@ import lombok.Data;
 public class UploadFile {
     private String uploadFileName;
     private String storeFileName;
+    private long size;
+    private String checksum; // CRC32C(hex), 다운로드 ETag 로 사용
 
     public UploadFile(String uploadFileName, String storeFileName) {
         this.uploadFileName = uploadFileName;
         this.storeFileName = storeFileName;
     }
+
+    public UploadFile(String uploadFileName, String storeFileName, long size, String checksum) {
+        this.uploadFileName = uploadFileName;
+        this.storeFileName = storeFileName;
+        this.size = size;
+        this.checksum = checksum;
+    }
 }
@@ -5,20 +5,64 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.zip.CRC32C;
 
+/**
+ * 업로드 파일을 FileChannel 로 스트리밍 저장한다
+ * 저장 파일명(UUID)의 앞 4글자로 2단계 디렉터리(ab/cd/)를 나눠서 한 디렉터리에 파일이 몰리지 않게 한다
+ * 디렉터리를 나누기 전에 저장한 파일(fileDir/{storeFileName})은 resolve() 가 그 위치로 찾아간다
+ */
 @Component
 public class FileStore {
 
-    @Value("${file.dir}")
-    private String fileDir;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String TEMP_SUFFIX = ".part";
+
+    private final Path fileDir;
+
+    public FileStore(@Value("${file.dir}") String fileDir) {
+        this.fileDir = Paths.get(fileDir);
+    }
 
     public String getFullPath(String filename) {
-        return fileDir + filename;
+        return resolve(filename).toString();
+    }
+
+    /**
+     * 저장 파일명 -> fileDir/ab/cd/{storeFileName}
+     * 나뉜 위치에 없고 예전 위치(fileDir/{storeFileName})에 있으면 예전 위치를 돌려준다
+     */
+    public Path resolve(String storeFileName) {
+        Path sharded = shardedPath(storeFileName);
+        if (Files.exists(sharded)) {
+            return sharded;
+        }
+        Path flat = fileDir.resolve(storeFileName);
+        return Files.isRegularFile(flat) ? flat : sharded;
+    }
+
+    private Path shardedPath(String storeFileName) {
+        if (storeFileName == null || storeFileName.length() < 4
+                || storeFileName.contains("/") || storeFileName.contains("\\") || storeFileName.contains("..")) {
+            throw new IllegalArgumentException("잘못된 저장 파일명: " + storeFileName);
+        }
+        return fileDir.resolve(storeFileName.substring(0, 2))
+                .resolve(storeFileName.substring(2, 4))
+                .resolve(storeFileName);
     }
 
     public List<UploadFile> storeFiles(List<MultipartFile> multipartFiles) throws IOException {
@@ -35,15 +79,44 @@ public class FileStore {
         if (multipartFile.isEmpty()) {
             return null;
         }
+        try (InputStream inputStream = multipartFile.getInputStream()) {
+            return storeFile(inputStream, multipartFile.getOriginalFilename());
+        }
+    }
 
+    /**
+     * 입력 스트림을 메모리에 모으지 않고 고정 크기 버퍼로 읽으면서 바로 파일에 쓴다
+     * 쓰는 동안 CRC32C 체크섬을 같이 계산하고, 임시 파일(.part)에 다 쓴 뒤에 원자적으로 이름을 바꾼다
+     */
+    public UploadFile storeFile(InputStream inputStream, String originalFilename) throws IOException {
         // 저장할 파일 이름 만들기
-        String originalFilename = multipartFile.getOriginalFilename();
         String storeFileName = createStoreFileName(originalFilename);
+        Path target = shardedPath(storeFileName);
+        Files.createDirectories(target.getParent());
+        Path temp = target.resolveSibling(storeFileName + TEMP_SUFFIX);
+
+        CRC32C checksum = new CRC32C();
+        long size = 0;
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
 
         // 파일 저장
-        multipartFile.transferTo(new File(getFullPath(storeFileName)));
+        try (ReadableByteChannel in = Channels.newChannel(inputStream);
+             FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            while (in.read(buffer) != -1) {
+                buffer.flip();
+                checksum.update(buffer.duplicate());
+                while (buffer.hasRemaining()) {
+                    size += out.write(buffer);
+                }
+                buffer.clear();
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
 
-        return new UploadFile(originalFilename, storeFileName);
+        return new UploadFile(originalFilename, storeFileName, size, Long.toHexString(checksum.getValue()));
     }
 
     private String createStoreFileName(String originalFilename) {
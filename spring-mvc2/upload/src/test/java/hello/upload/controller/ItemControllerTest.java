@@ -0,0 +1,58 @@
+package hello.upload.controller;
+
+import hello.upload.domain.ItemRepository;
+import hello.upload.file.FileSender;
+import hello.upload.file.FileStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ItemControllerTest {
+
+    @TempDir
+    Path dir;
+
+    MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ItemController controller = new ItemController(new ItemRepository(), new FileStore(dir.toString()), new FileSender());
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    void invalidImageName() throws Exception {
+        mockMvc.perform(get("/images/{filename}", "abc"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void missingImage() throws Exception {
+        mockMvc.perform(get("/images/{filename}", "ffffffff-none.png"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void missingAttach() throws Exception {
+        mockMvc.perform(get("/attach/{itemId}", 999L))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void flatLayoutImage() throws Exception {
+        Files.write(dir.resolve("0f1e2d3c-old.txt"), "old".getBytes());
+
+        mockMvc.perform(get("/images/{filename}", "0f1e2d3c-old.txt"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("old"));
+    }
+}
@@ -0,0 +1,102 @@
+package hello.upload.file;
+
+import hello.upload.domain.UploadFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32C;
+
+import static org.assertj.core.api.Assertions.*;
+
+class FileStoreTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void storeFile() throws Exception {
+        FileStore fileStore = new FileStore(dir.toString());
+        byte[] content = "hello upload".getBytes(StandardCharsets.UTF_8);
+
+        UploadFile uploadFile = fileStore.storeFile(new ByteArrayInputStream(content), "hello.txt");
+
+        // 저장 파일명 앞 4글자로 디렉터리가 나뉜다
+        String storeFileName = uploadFile.getStoreFileName();
+        Path stored = dir.resolve(storeFileName.substring(0, 2)).resolve(storeFileName.substring(2, 4)).resolve(storeFileName);
+        assertThat(fileStore.resolve(storeFileName)).isEqualTo(stored);
+        assertThat(Files.readAllBytes(stored)).isEqualTo(content);
+
+        CRC32C crc = new CRC32C();
+        crc.update(content);
+        assertThat(uploadFile.getSize()).isEqualTo(content.length);
+        assertThat(uploadFile.getChecksum()).isEqualTo(Long.toHexString(crc.getValue()));
+    }
+
+    @Test
+    void resolveRejectsPathTraversal() {
+        FileStore fileStore = new FileStore(dir.toString());
+        assertThatThrownBy(() -> fileStore.resolve("../../etc/passwd"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void resolveFlatLayoutFile() throws Exception {
+        FileStore fileStore = new FileStore(dir.toString());
+
+        // 디렉터리를 나누기 전에 저장된 파일
+        Path flat = Files.write(dir.resolve("0f1e2d3c-old.png"), new byte[]{1, 2, 3});
+        assertThat(fileStore.resolve("0f1e2d3c-old.png")).isEqualTo(flat);
+
+        // 어디에도 없으면 새 위치를 돌려준다
+        assertThat(fileStore.resolve("ffffffff-none.png"))
+                .isEqualTo(dir.resolve("ff").resolve("ff").resolve("ffffffff-none.png"));
+    }
+
+    @Test
+    void sendRange() throws Exception {
+        FileStore fileStore = new FileStore(dir.toString());
+        FileSender fileSender = new FileSender();
+        UploadFile uploadFile = fileStore.storeFile(
+                new ByteArrayInputStream("0123456789".getBytes(StandardCharsets.UTF_8)), "number.txt");
+        Path file = fileStore.resolve(uploadFile.getStoreFileName());
+
+        // 전체
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/attach/1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        fileSender.send(file, uploadFile.getChecksum(), null, request, response);
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo("0123456789");
+        String etag = response.getHeader("ETag");
+        assertThat(etag).isEqualTo("\"" + uploadFile.getChecksum() + "\"");
+
+        // Range
+        request = new MockHttpServletRequest("GET", "/attach/1");
+        request.addHeader("Range", "bytes=2-5");
+        response = new MockHttpServletResponse();
+        fileSender.send(file, uploadFile.getChecksum(), null, request, response);
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader("Content-Range")).isEqualTo("bytes 2-5/10");
+        assertThat(response.getContentAsString()).isEqualTo("2345");
+
+        // 범위를 벗어난 Range
+        request = new MockHttpServletRequest("GET", "/attach/1");
+        request.addHeader("Range", "bytes=20-");
+        response = new MockHttpServletResponse();
+        fileSender.send(file, uploadFile.getChecksum(), null, request, response);
+        assertThat(response.getStatus()).isEqualTo(416);
+
+        // If-None-Match
+        request = new MockHttpServletRequest("GET", "/attach/1");
+        request.addHeader("If-None-Match", etag);
+        response = new MockHttpServletResponse();
+        fileSender.send(file, uploadFile.getChecksum(), null, request, response);
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+}
@@ -0,0 +1,27 @@
+package hello.itemservice;
+
+import hello.itemservice.web.validation.CachingMessageCodesResolver;
+import hello.itemservice.web.validation.ValidationPlanValidator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.MessageCodesResolver;
+import org.springframework.validation.Validator;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ValidationPlanValidator validationPlanValidator;
+
+    // @Validated 검증은 컴파일된 plan 을 먼저 거친다
+    @Override
+    public Validator getValidator() {
+        return validationPlanValidator;
+    }
+
+    @Override
+    public MessageCodesResolver getMessageCodesResolver() {
+        return new CachingMessageCodesResolver();
+    }
+}
@@ -0,0 +1,90 @@
+package hello.itemservice.web.validation;
+
+import org.springframework.validation.DefaultMessageCodesResolver;
+import org.springframework.validation.MessageCodesResolver;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * DefaultMessageCodesResolver 결과를 캐시한다
+ * - 같은 (errorCode, objectName, field, fieldType) 조합이면 매번 문자열을 이어 붙이지 않는다
+ * - 필드 이름은 폼 클래스에서 오기 때문에 조합 수가 작다, 그래도 MAX_ENTRIES 를 넘으면 캐시하지 않는다
+ */
+public class CachingMessageCodesResolver implements MessageCodesResolver {
+
+    private static final int MAX_ENTRIES = 4096;
+
+    private final MessageCodesResolver delegate;
+    private final Map<CodesKey, String[]> cache = new ConcurrentHashMap<>();
+
+    public CachingMessageCodesResolver() {
+        this(new DefaultMessageCodesResolver());
+    }
+
+    public CachingMessageCodesResolver(MessageCodesResolver delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String[] resolveMessageCodes(String errorCode, String objectName) {
+        return resolve(new CodesKey(errorCode, objectName, null, null));
+    }
+
+    @Override
+    public String[] resolveMessageCodes(String errorCode, String objectName, String field, Class<?> fieldType) {
+        return resolve(new CodesKey(errorCode, objectName, field, fieldType));
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    private String[] resolve(CodesKey key) {
+        String[] codes = cache.get(key);
+        if (codes == null) {
+            codes = key.field == null
+                    ? delegate.resolveMessageCodes(key.errorCode, key.objectName)
+                    : delegate.resolveMessageCodes(key.errorCode, key.objectName, key.field, key.fieldType);
+            if (cache.size() < MAX_ENTRIES) {
+                cache.putIfAbsent(key, codes);
+            }
+        }
+        // 오류 객체가 배열을 그대로 들고 있으므로 캐시된 배열은 복사해서 넘긴다
+        return codes.clone();
+    }
+
+    private static final class CodesKey {
+        private final String errorCode;
+        private final String objectName;
+        private final String field;
+        private final Class<?> fieldType;
+        private final int hash;
+
+        CodesKey(String errorCode, String objectName, String field, Class<?> fieldType) {
+            this.errorCode = errorCode;
+            this.objectName = objectName;
+            this.field = field;
+            this.fieldType = fieldType;
+            this.hash = Objects.hash(errorCode, objectName, field, fieldType);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof CodesKey)) {
+                return false;
+            }
+            CodesKey other = (CodesKey) o;
+            return Objects.equals(errorCode, other.errorCode)
+                    && Objects.equals(objectName, other.objectName)
+                    && Objects.equals(field, other.field)
+                    && fieldType == other.fieldType;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
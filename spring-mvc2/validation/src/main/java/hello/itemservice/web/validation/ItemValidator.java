@@ -9,6 +9,10 @@ import org.springframework.validation.Validator;
 @Component
 public class ItemValidator implements Validator {
 
+    // 실패할 때 넘기는 메시지 인자는 고정값이라 미리 만들어 둔다 (성공 경로는 할당 X)
+    private static final Object[] PRICE_RANGE_ARGS = {1000, 1000000};
+    private static final Object[] QUANTITY_MAX_ARGS = {9999};
+
     @Override
     public boolean supports(Class<?> clazz) {
         return Item.class.isAssignableFrom(clazz);
@@ -25,11 +29,10 @@ public class ItemValidator implements Validator {
             errors.rejectValue("itemName", "required");
         }
         if (item.getPrice() == null || item.getPrice() < 1000 || item.getPrice() > 1_000_000) {
-            errors.rejectValue("price", "range", new Object[]{1000, 1000000}, null);
-
+            errors.rejectValue("price", "range", PRICE_RANGE_ARGS, null);
         }
         if (item.getQuantity() == null || item.getQuantity() >= 9999) {
-            errors.rejectValue("quantity", "max", new Object[]{9999}, null);
+            errors.rejectValue("quantity", "max", QUANTITY_MAX_ARGS, null);
         }
 
         // 특정 필드가 아닌 복합 룰 검증
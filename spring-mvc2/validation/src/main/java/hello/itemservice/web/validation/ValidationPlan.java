@@ -0,0 +1,147 @@
+package hello.itemservice.web.validation;
+
+import org.hibernate.validator.constraints.Range;
+import org.springframework.util.ReflectionUtils;
+
+import javax.validation.metadata.BeanDescriptor;
+import javax.validation.metadata.ConstraintDescriptor;
+import javax.validation.metadata.PropertyDescriptor;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 폼 클래스 하나(+ 검증 그룹)의 Bean Validation 제약을 평평한 배열로 컴파일한 것
+ * - 필드, 검사 종류, 최소/최대값을 배열로 들고 있고 passes() 는 배열을 한 번 훑기만 한다 (할당 X)
+ * - 지원하지 않는 제약(클래스 레벨, @Valid 중첩, 그 외 애노테이션)이 하나라도 있으면 compile() 이 null 을 돌려준다
+ */
+final class ValidationPlan {
+
+    private static final byte NOT_NULL = 0;
+    private static final byte NOT_BLANK = 1;
+    private static final byte RANGE = 2;
+
+    private final Field[] fields;
+    private final byte[] kinds;
+    private final long[] mins;
+    private final long[] maxs;
+
+    private ValidationPlan(Field[] fields, byte[] kinds, long[] mins, long[] maxs) {
+        this.fields = fields;
+        this.kinds = kinds;
+        this.mins = mins;
+        this.maxs = maxs;
+    }
+
+    int size() {
+        return fields.length;
+    }
+
+    boolean passes(Object target) {
+        for (int i = 0; i < fields.length; i++) {
+            Object value = ReflectionUtils.getField(fields[i], target);
+            switch (kinds[i]) {
+                case NOT_NULL:
+                    if (value == null) {
+                        return false;
+                    }
+                    break;
+                case NOT_BLANK:
+                    if (value == null || isBlank((CharSequence) value)) {
+                        return false;
+                    }
+                    break;
+                default:
+                    // null 은 @NotNull 이 따로 검사한다
+                    if (value != null) {
+                        long number = ((Number) value).longValue();
+                        if (number < mins[i] || number > maxs[i]) {
+                            return false;
+                        }
+                    }
+            }
+        }
+        return true;
+    }
+
+    static ValidationPlan compile(Class<?> clazz, BeanDescriptor descriptor, Class<?>[] groups) {
+        if (descriptor.findConstraints().unorderedAndMatchingGroups(groups).hasConstraints()) {
+            return null;
+        }
+
+        List<Field> fields = new ArrayList<>();
+        List<Byte> kinds = new ArrayList<>();
+        List<long[]> bounds = new ArrayList<>();
+        for (PropertyDescriptor property : descriptor.getConstrainedProperties()) {
+            Set<ConstraintDescriptor<?>> constraints = property.findConstraints()
+                    .unorderedAndMatchingGroups(groups)
+                    .getConstraintDescriptors();
+            if (constraints.isEmpty()) {
+                continue;
+            }
+            Field field = ReflectionUtils.findField(clazz, property.getPropertyName());
+            if (property.isCascaded() || field == null || field.getType().isPrimitive()) {
+                return null;
+            }
+            ReflectionUtils.makeAccessible(field);
+
+            for (ConstraintDescriptor<?> constraint : constraints) {
+                Annotation annotation = constraint.getAnnotation();
+                long min = Long.MIN_VALUE;
+                long max = Long.MAX_VALUE;
+                byte kind;
+                if (annotation instanceof NotNull) {
+                    kind = NOT_NULL;
+                } else if (annotation instanceof NotBlank && CharSequence.class.isAssignableFrom(field.getType())) {
+                    kind = NOT_BLANK;
+                } else if (isIntegral(field.getType()) && annotation instanceof Range) {
+                    kind = RANGE;
+                    min = ((Range) annotation).min();
+                    max = ((Range) annotation).max();
+                } else if (isIntegral(field.getType()) && annotation instanceof Min) {
+                    kind = RANGE;
+                    min = ((Min) annotation).value();
+                } else if (isIntegral(field.getType()) && annotation instanceof Max) {
+                    kind = RANGE;
+                    max = ((Max) annotation).value();
+                } else {
+                    return null;
+                }
+                fields.add(field);
+                kinds.add(kind);
+                bounds.add(new long[]{min, max});
+            }
+        }
+
+        int size = fields.size();
+        byte[] kindArray = new byte[size];
+        long[] minArray = new long[size];
+        long[] maxArray = new long[size];
+        for (int i = 0; i < size; i++) {
+            kindArray[i] = kinds.get(i);
+            minArray[i] = bounds.get(i)[0];
+            maxArray[i] = bounds.get(i)[1];
+        }
+        return new ValidationPlan(fields.toArray(new Field[0]), kindArray, minArray, maxArray);
+    }
+
+    // hibernate NotBlankValidator 와 같은 기준 (trim 후 길이 > 0)
+    private static boolean isBlank(CharSequence value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isIntegral(Class<?> type) {
+        return type == Integer.class || type == Long.class || type == Short.class || type == Byte.class;
+    }
+}
@@ -0,0 +1,114 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.SaveCheck;
+import hello.itemservice.domain.item.UpdateCheck;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.form.ItemUpdateForm;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.Errors;
+import org.springframework.validation.SmartValidator;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import javax.validation.groups.Default;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * MVC 전역 Validator (WebConfig 에서 등록, @Validated 가 붙은 V2~V4, API 컨트롤러가 모두 사용)
+ * - 폼 클래스별 Bean Validation 제약을 시작할 때 ValidationPlan 으로 컴파일해 둔다
+ * - 검증 성공이면 plan 만 훑고 끝난다 (ConstraintViolation, 오류 객체 생성 X)
+ * - 하나라도 실패하면 기존 Bean Validation 에 그대로 맡긴다 -> 오류 코드, 메시지 인자, 기본 메시지가 예전과 똑같다
+ * - 컴파일할 수 없는 클래스는 항상 Bean Validation 으로 검증한다
+ */
+@Slf4j
+@Component
+public class ValidationPlanValidator implements SmartValidator {
+
+    private static final Class<?>[] DEFAULT_GROUPS = {Default.class};
+    private static final Object[] NO_HINTS = {};
+
+    private final javax.validation.Validator validator;
+    private final SmartValidator beanValidator;
+
+    // 그룹 없이 검증하는 경우 / 그룹을 지정한 경우 (단일 그룹은 그룹 클래스가 key)
+    private final Map<Class<?>, Optional<ValidationPlan>> defaultPlans = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Map<Object, Optional<ValidationPlan>>> groupPlans = new ConcurrentHashMap<>();
+
+    public ValidationPlanValidator(javax.validation.Validator validator) {
+        this.validator = validator;
+        this.beanValidator = new SpringValidatorAdapter(validator);
+
+        precompile(ItemSaveForm.class);
+        precompile(ItemUpdateForm.class);
+        precompile(Item.class);
+        precompile(Item.class, SaveCheck.class);
+        precompile(Item.class, UpdateCheck.class);
+    }
+
+    public void precompile(Class<?> clazz, Object... hints) {
+        Optional<ValidationPlan> plan = findPlan(clazz, hints);
+        log.debug("validation plan {} {} -> {}", clazz.getSimpleName(), Arrays.toString(hints),
+                plan.map(p -> p.size() + " rules").orElse("bean validation"));
+    }
+
+    public boolean isCompiled(Class<?> clazz, Object... hints) {
+        return findPlan(clazz, hints).isPresent();
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return true;
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        validate(target, errors, NO_HINTS);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors, Object... validationHints) {
+        Optional<ValidationPlan> plan = findPlan(target.getClass(), validationHints);
+        if (plan.isPresent() && plan.get().passes(target)) {
+            return;
+        }
+        beanValidator.validate(target, errors, validationHints);
+    }
+
+    // 요청마다 호출되므로 캐시에 있으면 get 만 한다 (computeIfAbsent 람다 할당 X)
+    private Optional<ValidationPlan> findPlan(Class<?> clazz, Object[] hints) {
+        if (hints.length == 0) {
+            Optional<ValidationPlan> plan = defaultPlans.get(clazz);
+            return plan != null ? plan : defaultPlans.computeIfAbsent(clazz, c -> compile(c, DEFAULT_GROUPS));
+        }
+        Map<Object, Optional<ValidationPlan>> plans = groupPlans.get(clazz);
+        if (plans == null) {
+            plans = groupPlans.computeIfAbsent(clazz, c -> new ConcurrentHashMap<>());
+        }
+        Object key = hints.length == 1 ? hints[0] : Arrays.asList(hints);
+        Optional<ValidationPlan> plan = plans.get(key);
+        return plan != null ? plan : plans.computeIfAbsent(key, k -> compile(clazz, toGroups(hints)));
+    }
+
+    private Optional<ValidationPlan> compile(Class<?> clazz, Class<?>[] groups) {
+        if (groups == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(ValidationPlan.compile(clazz, validator.getConstraintsForClass(clazz), groups));
+    }
+
+    // 클래스가 아닌 힌트가 섞여 있으면 plan 없이 Bean Validation 에 맡긴다
+    private static Class<?>[] toGroups(Object[] hints) {
+        Class<?>[] groups = new Class<?>[hints.length];
+        for (int i = 0; i < hints.length; i++) {
+            if (!(hints[i] instanceof Class)) {
+                return null;
+            }
+            groups[i] = (Class<?>) hints[i];
+        }
+        return groups;
+    }
+}
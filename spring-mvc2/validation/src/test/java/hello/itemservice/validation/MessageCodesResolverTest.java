@@ -1,5 +1,6 @@
 package hello.itemservice.validation;
 
+import hello.itemservice.web.validation.CachingMessageCodesResolver;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.validation.DefaultMessageCodesResolver;
@@ -36,4 +37,18 @@ public class MessageCodesResolverTest {
         );
 
     }
+
+    @Test
+    void cachingMessageCodesResolver() {
+        CachingMessageCodesResolver cachingResolver = new CachingMessageCodesResolver();
+
+        String[] first = cachingResolver.resolveMessageCodes("required", "item", "itemName", String.class);
+        String[] second = cachingResolver.resolveMessageCodes("required", "item", "itemName", String.class);
+
+        assertThat(first).containsExactly(codesResolver.resolveMessageCodes("required", "item", "itemName", String.class));
+        assertThat(second).containsExactly(first).isNotSameAs(first);
+        assertThat(cachingResolver.resolveMessageCodes("required", "item"))
+                .containsExactly("required.item", "required");
+        assertThat(cachingResolver.size()).isEqualTo(2);
+    }
 }
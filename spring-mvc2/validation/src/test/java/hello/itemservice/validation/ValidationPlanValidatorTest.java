@@ -0,0 +1,95 @@
+package hello.itemservice.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.SaveCheck;
+import hello.itemservice.web.validation.ValidationPlanValidator;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.form.ItemUpdateForm;
+import lombok.Data;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.constraints.Email;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ValidationPlanValidatorTest {
+
+    Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    ValidationPlanValidator planValidator = new ValidationPlanValidator(validator);
+    SpringValidatorAdapter beanValidator = new SpringValidatorAdapter(validator);
+
+    @Test
+    void compiled() {
+        assertThat(planValidator.isCompiled(ItemSaveForm.class)).isTrue();
+        assertThat(planValidator.isCompiled(ItemUpdateForm.class)).isTrue();
+        assertThat(planValidator.isCompiled(Item.class, SaveCheck.class)).isTrue();
+        // 지원하지 않는 제약은 Bean Validation 으로 검증
+        assertThat(planValidator.isCompiled(EmailForm.class)).isFalse();
+    }
+
+    @Test
+    void valid() {
+        ItemSaveForm form = saveForm("itemA", 10000, 10);
+
+        BeanPropertyBindingResult errors = new BeanPropertyBindingResult(form, "item");
+        planValidator.validate(form, errors);
+
+        assertThat(errors.hasErrors()).isFalse();
+    }
+
+    @Test
+    void invalidSameAsBeanValidation() {
+        assertSameErrors(saveForm(" ", 999, 10000));
+        assertSameErrors(saveForm(null, null, null));
+        assertSameErrors(saveForm("itemA", 1000001, 9999));
+        assertSameErrors(saveForm("\t", 1000, 9998));
+
+        ItemUpdateForm updateForm = new ItemUpdateForm();
+        updateForm.setItemName("itemA");
+        updateForm.setPrice(500);
+        updateForm.setQuantity(100000);
+        assertSameErrors(updateForm);
+
+        EmailForm emailForm = new EmailForm();
+        emailForm.setEmail("not-email");
+        assertSameErrors(emailForm);
+    }
+
+    private void assertSameErrors(Object target) {
+        BeanPropertyBindingResult expected = new BeanPropertyBindingResult(target, "item");
+        beanValidator.validate(target, expected);
+        BeanPropertyBindingResult actual = new BeanPropertyBindingResult(target, "item");
+        planValidator.validate(target, actual);
+
+        assertThat(actual.hasErrors()).isTrue();
+        assertThat(codes(actual)).containsExactlyInAnyOrderElementsOf(codes(expected));
+    }
+
+    private static List<String> codes(BeanPropertyBindingResult result) {
+        return result.getFieldErrors().stream()
+                .map(FieldError::getCodes)
+                .map(codes -> String.join(",", codes))
+                .collect(Collectors.toList());
+    }
+
+    private static ItemSaveForm saveForm(String itemName, Integer price, Integer quantity) {
+        ItemSaveForm form = new ItemSaveForm();
+        form.setItemName(itemName);
+        form.setPrice(price);
+        form.setQuantity(quantity);
+        return form;
+    }
+
+    @Data
+    static class EmailForm {
+        @Email
+        private String email;
+    }
+}
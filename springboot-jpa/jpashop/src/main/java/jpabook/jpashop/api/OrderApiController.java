@@ -1,20 +1,28 @@
 package jpabook.jpashop.api;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import jpabook.jpashop.domain.Address;
 import jpabook.jpashop.domain.Order;
 import jpabook.jpashop.domain.OrderItem;
 import jpabook.jpashop.domain.OrderStatus;
 import jpabook.jpashop.repository.OrderRepository;
 import jpabook.jpashop.repository.OrderSearch;
+import jpabook.jpashop.repository.OrderSearchStats;
 import jpabook.jpashop.repository.order.query.OrderFlatDto;
 import jpabook.jpashop.repository.order.query.OrderQueryDto;
 import jpabook.jpashop.repository.order.query.OrderQueryRepository;
 import lombok.Data;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -26,6 +34,7 @@ public class OrderApiController {
 
     private final OrderRepository orderRepository;
     private final OrderQueryRepository orderQueryRepository;
+    private final ObjectMapper objectMapper;
 
     /**
      * V1. 엔티티 직접 노출
@@ -45,6 +54,12 @@ public class OrderApiController {
         return all;
     }
 
+    // 주문 검색 캐시 통계 (결과 캐시 hit, 평균 쿼리 시간, 아낀 시간 추정치)
+    @GetMapping("/api/orders/search-stats")
+    public OrderSearchStats searchStats() {
+        return orderRepository.searchStats();
+    }
+
     @GetMapping("/api/v2/orders")
     public List<OrderDto> ordersV2() {
         List<Order> orders = orderRepository.findAllByString(new OrderSearch());
@@ -67,7 +82,8 @@ public class OrderApiController {
             @RequestParam(value = "offset", defaultValue = "0") int offset,
             @RequestParam(value = "limit", defaultValue = "100") int limit
     ) {
-        List<Order> orders = orderRepository.findAllWithMemberDelivery(offset, limit);
+        // 주문 id 로 먼저 페이징하고 컬렉션까지 한 번에 가져온다 (메모리 페이징 X)
+        List<Order> orders = orderRepository.findAllWithItem(offset, limit);
 
         List<OrderDto> result = orders.stream()
                 .map(o -> new OrderDto(o))
@@ -90,6 +106,46 @@ public class OrderApiController {
         return orderQueryRepository.findAllByDto_flat();
     }
 
+    /**
+     * V7. keyset 페이징 + 페이지당 IN 쿼리 1번, 결과를 모으지 않고 페이지 단위로 바로 응답에 쓴다
+     * - 주문 수와 상관없이 메모리에는 한 페이지만 올라간다
+     * - format=ndjson(기본): 한 줄에 주문 하나, format=json: chunked JSON 배열
+     */
+    @GetMapping("/api/v7/orders")
+    public ResponseEntity<StreamingResponseBody> ordersV7(
+            @RequestParam(value = "format", defaultValue = "ndjson") String format,
+            @RequestParam(value = "size", defaultValue = "1000") int size
+    ) {
+        if (size <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        boolean ndjson = !"json".equals(format);
+        ObjectWriter writer = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        StreamingResponseBody body = out -> {
+            try (SequenceWriter sequenceWriter = ndjson
+                    ? writer.withRootValueSeparator("\n").writeValues(out)
+                    : writer.writeValuesAsArray(out)) {
+                Long lastOrderId = null;
+                List<OrderQueryDto> page;
+                do {
+                    page = orderQueryRepository.findOrderQueryDtosAfter(lastOrderId, size);
+                    sequenceWriter.writeAll(page);
+                    sequenceWriter.flush();
+                    if (!page.isEmpty()) {
+                        lastOrderId = page.get(page.size() - 1).getOrderId();
+                    }
+                } while (!page.isEmpty() && page.size() >= size);
+            }
+            if (ndjson) {
+                out.write('\n');
+            }
+        };
+
+        MediaType contentType = ndjson ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON;
+        return ResponseEntity.ok().contentType(contentType).body(body);
+    }
+
     @Data
     static class OrderDto {
 
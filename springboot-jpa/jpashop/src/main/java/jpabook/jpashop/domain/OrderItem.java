@@ -43,6 +43,15 @@ public class OrderItem {
         return orderItem;
     }
 
+    // 재고를 이미 선점(StockReservation)한 주문, 엔티티 재고는 건드리지 않는다
+    public static OrderItem createReservedOrderItem(Item item, int orderPrice, int count) {
+        OrderItem orderItem = new OrderItem();
+        orderItem.setItem(item);
+        orderItem.setOrderPrice(orderPrice);
+        orderItem.setCount(count);
+        return orderItem;
+    }
+
     //=비즈니스 로직=//
     public void cancel() {
         getItem().addStock(count); // 재고 수량 원상복구
@@ -23,6 +23,10 @@ public abstract class Item {
     private int price;
     private int stockQuantity;
 
+    // 동시 주문/수정 시 재고를 덮어쓰지 않도록 낙관적 락으로 충돌을 감지한다
+    @Version
+    private Long version;
+
     @ManyToMany(mappedBy = "items")
     private List<Category> categories = new ArrayList<Category>();
 
@@ -29,4 +29,26 @@ public class ItemRepository {
         return em.createQuery("select i from Item i", Item.class)
                 .getResultList();
     }
+
+    /**
+     * 조건부 재고 차감, 재고가 부족하면 아무 행도 바뀌지 않는다 (oversell 방지)
+     * version 을 같이 올려서 엔티티로 재고를 수정하던 트랜잭션은 낙관적 락 충돌이 나게 한다
+     */
+    public boolean decreaseStock(Long itemId, int count) {
+        return em.createQuery("update Item i" +
+                        " set i.stockQuantity = i.stockQuantity - :count, i.version = i.version + 1" +
+                        " where i.id = :id and i.stockQuantity >= :count")
+                .setParameter("count", count)
+                .setParameter("id", itemId)
+                .executeUpdate() == 1;
+    }
+
+    public void increaseStock(Long itemId, int count) {
+        em.createQuery("update Item i" +
+                        " set i.stockQuantity = i.stockQuantity + :count, i.version = i.version + 1" +
+                        " where i.id = :id")
+                .setParameter("count", count)
+                .setParameter("id", itemId)
+                .executeUpdate();
+    }
 }
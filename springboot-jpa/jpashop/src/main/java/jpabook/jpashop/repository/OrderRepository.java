@@ -2,24 +2,28 @@ package jpabook.jpashop.repository;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
-import jakarta.persistence.criteria.*;
 import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.OrderStatus;
 import jpabook.jpashop.repository.order.simplequery.OrderSimpleQueryDto;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.StringUtils;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Repository
 @RequiredArgsConstructor
 public class OrderRepository {
 
     private final EntityManager em;
+    private final OrderSearchCache searchCache;
 
     public void save(Order order) {
         em.persist(order);
+        searchCache.invalidate();
     }
 
     public Order findOne(Long id) {
@@ -40,69 +44,85 @@ public class OrderRepository {
     }
 
     // JPQL
+    // 조건 조합별로 미리 만든 JPQL(OrderSearchShape)을 쓴다 -> 매번 문자열을 조립하지 않는다
     public List<Order> findAllByString(OrderSearch orderSearch) {
-        //language=JPAQL
-        String jpql = "select o From Order o join o.member m";
-        boolean isFirstCondition = true;
-
-        //주문 상태 검색
-        if (orderSearch.getOrderStatus() != null) {
-            if (isFirstCondition) {
-                jpql += " where";
-                isFirstCondition = false;
-            } else {
-                jpql += " and";
-            }
-            jpql += " o.status = :status";
+        return search(orderSearch, orderSearch.getMemberName());
+    }
+
+
+    // JPA Criteria (비추천, 결국엔 QueryDSL 사용)
+    // 매번 CriteriaQuery 트리를 새로 만들면 plan 캐시를 타지 못하므로 같은 shape 의 JPQL 로 처리한다 (이름은 포함 검색)
+    public List<Order> findAllByCriteria(OrderSearch orderSearch) {
+        String name = orderSearch.getMemberName();
+        return search(orderSearch, StringUtils.hasText(name) ? "%" + name + "%" : name);
+    }
+
+    private List<Order> search(OrderSearch orderSearch, String namePattern) {
+        OrderSearchShape shape = OrderSearchShape.of(orderSearch);
+        OrderStatus status = shape.hasStatus() ? orderSearch.getOrderStatus() : null;
+        String name = shape.hasName() ? namePattern : null;
+
+        List<Long> ids = searchCache.get(shape, status, name);
+        if (ids != null) {
+            return findAllByIds(ids);
         }
-        //회원 이름 검색
-        if (StringUtils.hasText(orderSearch.getMemberName())) {
-            if (isFirstCondition) {
-                jpql += " where";
-                isFirstCondition = false;
-            } else {
-                jpql += " and";
-            }
-            jpql += " m.name like :name";
+
+        long generation = searchCache.currentGeneration();
+        long start = System.nanoTime();
+        if (!searchCache.isEnabled()) {
+            List<Order> orders = bind(em.createQuery(shape.jpql(), Order.class), status, name)
+                    .setMaxResults(1000) //최대 1000건
+                    .getResultList();
+            searchCache.recordQuery(System.nanoTime() - start);
+            return orders;
         }
 
-        TypedQuery<Order> query = em.createQuery(jpql, Order.class)
-                .setMaxResults(1000); //최대 1000건
+        ids = bind(em.createQuery(shape.idJpql(), Long.class), status, name)
+                .setMaxResults(1000) //최대 1000건
+                .getResultList();
+        searchCache.recordQuery(System.nanoTime() - start);
+        searchCache.put(shape, status, name, ids, generation);
+        return findAllByIds(ids);
+    }
 
-        if (orderSearch.getOrderStatus() != null) {
-            query = query.setParameter("status", orderSearch.getOrderStatus());
+    private static <T> TypedQuery<T> bind(TypedQuery<T> query, OrderStatus status, String name) {
+        if (status != null) {
+            query.setParameter("status", status);
         }
-        if (StringUtils.hasText(orderSearch.getMemberName())) {
-            query = query.setParameter("name", orderSearch.getMemberName());
+        if (name != null) {
+            query.setParameter("name", name);
         }
-
-        return query.getResultList();
+        return query;
     }
 
+    // id 목록 -> 엔티티, in 쿼리 한 번으로 가져오고 id 목록 순서를 유지한다
+    private List<Order> findAllByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Order> orders = em.createQuery("select o from Order o join fetch o.member m where o.id in :ids", Order.class)
+                .setParameter("ids", ids)
+                .getResultList();
+        return sortByIds(ids, orders);
+    }
 
-    // JPA Criteria (비추천, 결국엔 QueryDSL 사용)
-    public List<Order> findAllByCriteria(OrderSearch orderSearch) {
-        CriteriaBuilder cb = em.getCriteriaBuilder();
-        CriteriaQuery<Order> cq = cb.createQuery(Order.class);
-        Root<Order> o = cq.from(Order.class);
-        Join<Object, Object> m = o.join("member", JoinType.INNER);
-        ArrayList<Predicate> criteria = new ArrayList<>();
-        // 주문 상태 검색
-        if (orderSearch.getOrderStatus() != null) {
-            Predicate status = cb.equal(o.get("status"), orderSearch.getOrderStatus());
-            criteria.add(status);
+    private static List<Order> sortByIds(List<Long> ids, List<Order> orders) {
+        Map<Long, Order> byId = new HashMap<>();
+        for (Order order : orders) {
+            byId.put(order.getId(), order);
         }
-        // 회원 이름 검색
-        if (StringUtils.hasText(orderSearch.getMemberName())) {
-            Predicate name =
-                    cb.like(m.<String>get("name"), "%" +
-                            orderSearch.getMemberName() + "%");
-            criteria.add(name);
+        List<Order> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Order order = byId.get(id);
+            if (order != null) {
+                result.add(order);
+            }
         }
-        cq.where(cb.and(criteria.toArray(new Predicate[criteria.size()])));
-        TypedQuery<Order> query = em.createQuery(cq).setMaxResults(1000); //최대1000건
-        return query.getResultList();
+        return result;
+    }
 
+    public OrderSearchStats searchStats() {
+        return searchCache.stats();
     }
 
     public List<Order> findAllWithMemberDelivery() {
@@ -114,15 +134,33 @@ public class OrderRepository {
     }
 
     public List<Order> findAllWithItem() {
-        return em.createQuery(
+        return findAllWithItem(1, 100);
+    }
+
+    /**
+     * 컬렉션 fetch join + 페이징을 한 쿼리로 하면 Hibernate 가 전체를 읽어서 메모리에서 자른다
+     * 1. 페이지에 해당하는 주문 id 만 DB 에서 페이징해서 가져오고
+     * 2. 그 id 들만 컬렉션까지 fetch join 으로 한 번에 가져온 뒤 id 순서대로 다시 맞춘다
+     * offset 과 상관없이 메모리에는 limit 건만 올라간다
+     */
+    public List<Order> findAllWithItem(int offset, int limit) {
+        List<Long> ids = em.createQuery("select o.id from Order o order by o.id", Long.class)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Order> orders = em.createQuery(
                         "select distinct o from Order o" +
                                 " join fetch o.member m" +
                                 " join fetch o.delivery d" +
-                                " join fetch o.orderItems oi" +
-                                " join fetch oi.item i", Order.class)
-                .setFirstResult(1)
-                .setMaxResults(100)
+                                " left join fetch o.orderItems oi" +
+                                " left join fetch oi.item i" +
+                                " where o.id in :ids", Order.class)
+                .setParameter("ids", ids)
                 .getResultList();
+        return sortByIds(ids, orders);
     }
 
     public List<Order> findAllWithMemberDelivery(int offset, int limit) {
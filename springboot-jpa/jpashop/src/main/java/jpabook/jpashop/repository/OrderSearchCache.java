@@ -0,0 +1,168 @@
+package jpabook.jpashop.repository;
+
+import jpabook.jpashop.domain.OrderStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 주문 검색 결과(id 목록) 캐시, (shape, 상태, 이름 패턴) 단위로 짧은 TTL 동안 보관한다
+ * - ttlMillis 가 0 이면 캐시하지 않고 통계만 모은다
+ * - 주문 저장/취소 시 invalidate() 로 세대(generation)를 올려서 이전 결과를 버린다
+ *   트랜잭션 안에서 호출하면 커밋/롤백 뒤에 한 번 더 올리고, 그 트랜잭션에서는 캐시를 거치지 않는다
+ * - 회원 이름 변경은 무효화하지 않는다 (TTL 동안은 이전 이름으로 검색될 수 있다)
+ */
+@Component
+public class OrderSearchCache {
+
+    private static final int MAX_ENTRIES = 1000;
+
+    private final long ttlMillis;
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder bypasses = new LongAdder();
+    private final LongAdder queryNanos = new LongAdder();
+    private final LongAdder queryCount = new LongAdder();
+    private final Map<OrderSearchShape, LongAdder> shapeCounts = new EnumMap<>(OrderSearchShape.class);
+
+    public OrderSearchCache(@Value("${order.search.result-ttl-millis:0}") long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+        for (OrderSearchShape shape : OrderSearchShape.values()) {
+            shapeCounts.put(shape, new LongAdder());
+        }
+    }
+
+    public boolean isEnabled() {
+        return ttlMillis > 0;
+    }
+
+    /**
+     * 캐시된 id 목록, 없거나 캐시를 쓸 수 없으면 null
+     */
+    List<Long> get(OrderSearchShape shape, OrderStatus status, String namePattern) {
+        requests.increment();
+        shapeCounts.get(shape).increment();
+        if (!isEnabled()) {
+            return null;
+        }
+        if (isWriting()) {
+            bypasses.increment();
+            return null;
+        }
+        Entry entry = entries.get(new Key(shape, status, namePattern));
+        if (entry == null || entry.generation != generation.get()
+                || entry.expiresAt <= System.currentTimeMillis()) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.ids;
+    }
+
+    long currentGeneration() {
+        return generation.get();
+    }
+
+    // 조회를 시작할 때의 세대가 그대로일 때만 넣는다 -> 조회 중에 바뀐 결과는 캐시에 남지 않는다
+    void put(OrderSearchShape shape, OrderStatus status, String namePattern, List<Long> ids, long startGeneration) {
+        if (!isEnabled() || isWriting() || startGeneration != generation.get()) {
+            return;
+        }
+        if (entries.size() >= MAX_ENTRIES) {
+            long now = System.currentTimeMillis();
+            entries.values().removeIf(entry -> entry.expiresAt <= now || entry.generation != startGeneration);
+            if (entries.size() >= MAX_ENTRIES) {
+                return;
+            }
+        }
+        entries.put(new Key(shape, status, namePattern),
+                new Entry(List.copyOf(ids), startGeneration, System.currentTimeMillis() + ttlMillis));
+    }
+
+    void recordQuery(long nanos) {
+        queryNanos.add(nanos);
+        queryCount.increment();
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && !TransactionSynchronizationManager.hasResource(this)) {
+            TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(OrderSearchCache.this);
+                    generation.incrementAndGet();
+                    entries.clear();
+                }
+            });
+        }
+    }
+
+    public OrderSearchStats stats() {
+        long count = queryCount.sum();
+        long avgNanos = count == 0 ? 0 : queryNanos.sum() / count;
+        Map<String, Long> shapes = new LinkedHashMap<>();
+        shapeCounts.forEach((shape, adder) -> shapes.put(shape.name(), adder.sum()));
+        return new OrderSearchStats(requests.sum(), hits.sum(), misses.sum(), bypasses.sum(),
+                avgNanos / 1000, hits.sum() * avgNanos / 1000, shapes);
+    }
+
+    // 이 트랜잭션에서 주문을 바꿨으면 커밋 전 결과가 다른 트랜잭션에 보이면 안된다
+    private boolean isWriting() {
+        return TransactionSynchronizationManager.hasResource(this);
+    }
+
+    private static final class Key {
+        private final OrderSearchShape shape;
+        private final OrderStatus status;
+        private final String namePattern;
+
+        Key(OrderSearchShape shape, OrderStatus status, String namePattern) {
+            this.shape = shape;
+            this.status = status;
+            this.namePattern = namePattern;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return shape == other.shape && status == other.status && Objects.equals(namePattern, other.namePattern);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(shape, status, namePattern);
+        }
+    }
+
+    private static final class Entry {
+        private final List<Long> ids;
+        private final long generation;
+        private final long expiresAt;
+
+        Entry(List<Long> ids, long generation, long expiresAt) {
+            this.ids = ids;
+            this.generation = generation;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package jpabook.jpashop.repository;
+
+import org.springframework.util.StringUtils;
+
+/**
+ * OrderSearch 조건 조합(상태 유무 x 이름 유무)별로 미리 만들어 둔 JPQL
+ * 같은 shape 는 항상 같은 문자열이라 Hibernate 의 쿼리 plan 캐시를 그대로 탄다
+ */
+enum OrderSearchShape {
+
+    ALL(false, false),
+    STATUS(true, false),
+    NAME(false, true),
+    STATUS_NAME(true, true);
+
+    private final boolean hasStatus;
+    private final boolean hasName;
+    private final String jpql;
+    private final String idJpql;
+
+    OrderSearchShape(boolean hasStatus, boolean hasName) {
+        this.hasStatus = hasStatus;
+        this.hasName = hasName;
+        String where = hasStatus && hasName ? " where o.status = :status and m.name like :name"
+                : hasStatus ? " where o.status = :status"
+                : hasName ? " where m.name like :name"
+                : "";
+        this.jpql = "select o from Order o join o.member m" + where;
+        this.idJpql = "select o.id from Order o join o.member m" + where;
+    }
+
+    static OrderSearchShape of(OrderSearch orderSearch) {
+        boolean status = orderSearch.getOrderStatus() != null;
+        boolean name = StringUtils.hasText(orderSearch.getMemberName());
+        return status && name ? STATUS_NAME : status ? STATUS : name ? NAME : ALL;
+    }
+
+    boolean hasStatus() {
+        return hasStatus;
+    }
+
+    boolean hasName() {
+        return hasName;
+    }
+
+    String jpql() {
+        return jpql;
+    }
+
+    String idJpql() {
+        return idJpql;
+    }
+}
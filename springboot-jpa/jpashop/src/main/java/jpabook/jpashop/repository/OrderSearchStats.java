@@ -0,0 +1,21 @@
+package jpabook.jpashop.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+@Getter
+@AllArgsConstructor
+public class OrderSearchStats {
+
+    private long requests;
+    private long resultHits;
+    private long resultMisses;
+    private long bypasses;
+    // 캐시를 못 탄 검색의 평균 쿼리 시간
+    private long avgQueryMicros;
+    // 결과 캐시 hit 로 아낀 시간 추정치 (hit 수 x 평균 쿼리 시간)
+    private long estimatedSavedMicros;
+    private Map<String, Long> shapeCounts;
+}
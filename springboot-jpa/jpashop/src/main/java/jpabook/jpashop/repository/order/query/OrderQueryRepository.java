@@ -4,6 +4,7 @@ import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -35,8 +36,43 @@ public class OrderQueryRepository {
 
     public List<OrderQueryDto> findAllByDto_optimization() {
         List<OrderQueryDto> result = findOrders();
-        List<Long> orderIds = result.stream().map(o -> o.getOrderId()).collect(Collectors.toList());
 
+        Map<Long, List<OrderItemQueryDto>> orderItemMap = findOrderItemMap(toOrderIds(result));
+
+        result.forEach(o -> o.setOrderItems(orderItemMap.get(o.getOrderId())));
+
+        return result;
+    }
+
+    /**
+     * keyset 페이징: lastOrderId 다음 주문부터 limit 개를 id 순서로 조회한다
+     * offset 을 쓰지 않으므로 뒤쪽 페이지도 조회 비용이 같고, 주문 상품은 페이지당 IN 쿼리 한 번으로 가져온다
+     *
+     * @param lastOrderId 이전 페이지의 마지막 주문 id, 첫 페이지는 null
+     */
+    public List<OrderQueryDto> findOrderQueryDtosAfter(Long lastOrderId, int limit) {
+        List<OrderQueryDto> result = em.createQuery(
+                        "select new jpabook.jpashop.repository.order.query.OrderQueryDto(o.id, m.name, o.orderDate, o.status, d.address)" +
+                                " from Order o" +
+                                " join o.member m" +
+                                " join o.delivery d" +
+                                " where o.id > :lastOrderId" +
+                                " order by o.id", OrderQueryDto.class)
+                .setParameter("lastOrderId", lastOrderId == null ? 0L : lastOrderId)
+                .setMaxResults(limit)
+                .getResultList();
+        if (result.isEmpty()) {
+            return result;
+        }
+
+        Map<Long, List<OrderItemQueryDto>> orderItemMap = findOrderItemMap(toOrderIds(result));
+
+        result.forEach(o -> o.setOrderItems(orderItemMap.getOrDefault(o.getOrderId(), Collections.emptyList())));
+
+        return result;
+    }
+
+    private Map<Long, List<OrderItemQueryDto>> findOrderItemMap(List<Long> orderIds) {
         List<OrderItemQueryDto> orderItems = em.createQuery(
                         "select new jpabook.jpashop.repository.order.query.OrderItemQueryDto(oi.order.id, i.name, oi.orderPrice, oi.count)" +
                                 " from OrderItem oi" +
@@ -45,12 +81,12 @@ public class OrderQueryRepository {
                 ).setParameter("orderIds", orderIds)
                 .getResultList();
 
-        Map<Long, List<OrderItemQueryDto>> orderItemMap = orderItems.stream()
+        return orderItems.stream()
                 .collect(Collectors.groupingBy(OrderItemQueryDto::getOrderId));
+    }
 
-        result.forEach(o -> o.setOrderItems(orderItemMap.get(o.getOrderId())));
-
-        return result;
+    private static List<Long> toOrderIds(List<OrderQueryDto> result) {
+        return result.stream().map(o -> o.getOrderId()).collect(Collectors.toList());
     }
 
     private List<OrderQueryDto> findOrders() {
@@ -0,0 +1,60 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.service.stock.StockReservation;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Service;
+
+/**
+ * 주문/취소 트랜잭션을 감싸는 진입점 (트랜잭션 밖)
+ * - 인기 상품은 StockReservation 에서 재고를 선점한 뒤 주문만 저장한다
+ * - 일반 상품은 Item 엔티티의 @Version 으로 충돌을 감지하고, 충돌하면 새 트랜잭션으로 최대 MAX_ATTEMPTS 번 다시 시도한다
+ * - 충돌이 잦은 상품은 StockReservation 이 인기 상품으로 바꾼다
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderFacade {
+
+    static final int MAX_ATTEMPTS = 5;
+
+    private final OrderService orderService;
+    private final StockReservation stockReservation;
+
+    public Long order(Long memberId, Long itemId, int count) {
+        ConcurrencyFailureException lastFailure = null;
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            if (stockReservation.reserve(itemId, count)) {
+                try {
+                    return orderService.orderReserved(memberId, itemId, count);
+                } catch (RuntimeException e) {
+                    stockReservation.release(itemId, count);
+                    throw e;
+                }
+            }
+            try {
+                return orderService.order(memberId, itemId, count);
+            } catch (ConcurrencyFailureException e) {
+                log.debug("order conflict itemId={}, attempt={}", itemId, attempt);
+                stockReservation.recordConflict(itemId);
+                lastFailure = e;
+            }
+        }
+        throw lastFailure;
+    }
+
+    public void cancelOrder(Long orderId) {
+        ConcurrencyFailureException lastFailure = null;
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            try {
+                orderService.cancelOrder(orderId);
+                return;
+            } catch (ConcurrencyFailureException e) {
+                log.debug("cancel conflict orderId={}, attempt={}", orderId, attempt);
+                lastFailure = e;
+            }
+        }
+        throw lastFailure;
+    }
+}
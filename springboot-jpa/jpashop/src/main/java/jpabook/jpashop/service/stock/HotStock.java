@@ -0,0 +1,107 @@
+package jpabook.jpashop.service.stock;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * 인기 상품 하나의 선점 재고를 여러 칸(stripe)에 나눠 담는다
+ * 스레드마다 다른 칸에서 CAS 로 차감하므로 한 카운터에 경합이 몰리지 않는다
+ * 칸에 재고를 넣는 put/drain 은 StockReservation 이 이 객체로 동기화한 상태에서만 호출한다
+ */
+final class HotStock {
+
+    private final AtomicIntegerArray stripes;
+    private final int mask;
+    private volatile boolean closed;
+    private volatile long lastAccessMillis;
+
+    HotStock(int stripeCount, long now) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new AtomicIntegerArray(size);
+        this.mask = size - 1;
+        this.lastAccessMillis = now;
+    }
+
+    // 자기 칸부터 돌면서 한 칸에서 count 만큼 가져간다
+    boolean tryTake(int count) {
+        int start = index();
+        for (int i = 0; i <= mask; i++) {
+            int stripe = (start + i) & mask;
+            int current = stripes.get(stripe);
+            while (current >= count) {
+                if (stripes.compareAndSet(stripe, current, current - count)) {
+                    return true;
+                }
+                current = stripes.get(stripe);
+            }
+        }
+        return false;
+    }
+
+    // 여러 칸에 흩어진 재고를 모아서 가져간다, 모자라면 모은 만큼 되돌린다
+    boolean takeAcross(int count) {
+        int taken = 0;
+        for (int stripe = 0; stripe <= mask && taken < count; stripe++) {
+            int current = stripes.get(stripe);
+            while (current > 0) {
+                int take = Math.min(current, count - taken);
+                if (stripes.compareAndSet(stripe, current, current - take)) {
+                    taken += take;
+                    break;
+                }
+                current = stripes.get(stripe);
+            }
+        }
+        if (taken < count) {
+            put(taken);
+            return false;
+        }
+        return true;
+    }
+
+    void put(int count) {
+        if (count > 0) {
+            stripes.addAndGet(index(), count);
+        }
+    }
+
+    // 모든 칸을 비우고 남아 있던 재고 합계를 돌려준다
+    int drain() {
+        int rest = 0;
+        for (int stripe = 0; stripe <= mask; stripe++) {
+            rest += stripes.getAndSet(stripe, 0);
+        }
+        return rest;
+    }
+
+    int available() {
+        int sum = 0;
+        for (int stripe = 0; stripe <= mask; stripe++) {
+            sum += stripes.get(stripe);
+        }
+        return sum;
+    }
+
+    void close() {
+        closed = true;
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    // 매 주문마다 쓰면 공유 필드에 경합이 생기므로 1초에 한 번만 갱신한다
+    void touch(long now) {
+        if (now - lastAccessMillis > 1000) {
+            lastAccessMillis = now;
+        }
+    }
+
+    long getLastAccessMillis() {
+        return lastAccessMillis;
+    }
+
+    private int index() {
+        long id = Thread.currentThread().getId();
+        return (int) (id ^ (id >>> 16)) * 0x9E3779B9 >>> 16 & mask;
+    }
+}
@@ -0,0 +1,204 @@
+package jpabook.jpashop.service.stock;
+
+import jakarta.annotation.PreDestroy;
+import jpabook.jpashop.exception.NotEnoughStockException;
+import jpabook.jpashop.repository.ItemRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 인기 상품(hot item) 재고 선점
+ * - 낙관적 락 충돌이 hotThreshold 번 넘게 나거나 markHot 으로 지정한 상품은 인기 상품이 된다
+ * - 인기 상품은 DB 재고를 조건부 UPDATE(stock_quantity >= ?)로 leaseSize 만큼 미리 차감해 오고,
+ *   주문은 메모리의 stripe 카운터에서 차감한다 -> 주문마다 같은 행에 락을 잡지 않는다
+ * - 일정 시간 선점이 없던 상품은 남은 재고를 DB 로 돌려주고 일반 상품으로 돌아간다
+ * DB 재고는 항상 선점한 만큼 먼저 빠져 있으므로 메모리 카운터가 어떻게 되든 oversell 은 생기지 않는다
+ * 선점은 자체 트랜잭션으로 처리하므로 트랜잭션 밖(OrderFacade)에서 호출한다
+ */
+@Slf4j
+@Component
+public class StockReservation {
+
+    private final ItemRepository itemRepository;
+    private final TransactionTemplate txTemplate;
+    private final int leaseSize;
+    private final int hotThreshold;
+    private final int stripeCount;
+    private final long idleMillis;
+
+    private final Map<Long, HotStock> hotStocks = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicInteger> conflicts = new ConcurrentHashMap<>();
+    // DB 로 돌려주지 못한 재고, 다음 flush 때 다시 시도한다
+    private final Map<Long, Integer> pendingReturns = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher;
+
+    public StockReservation(ItemRepository itemRepository,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${stock.reservation.lease-size:20}") int leaseSize,
+                            @Value("${stock.reservation.hot-threshold:3}") int hotThreshold,
+                            @Value("${stock.reservation.stripes:0}") int stripes,
+                            @Value("${stock.reservation.idle-millis:5000}") long idleMillis,
+                            @Value("${stock.reservation.flush-interval-millis:1000}") long flushIntervalMillis) {
+        if (leaseSize <= 0) {
+            throw new IllegalArgumentException("leaseSize must be positive: " + leaseSize);
+        }
+        this.itemRepository = itemRepository;
+        this.txTemplate = new TransactionTemplate(transactionManager);
+        this.leaseSize = leaseSize;
+        this.hotThreshold = hotThreshold;
+        this.stripeCount = stripes > 0 ? stripes : Runtime.getRuntime().availableProcessors();
+        this.idleMillis = idleMillis;
+
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "stock-reservation-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushIdle, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isHot(Long itemId) {
+        return hotStocks.containsKey(itemId);
+    }
+
+    // 타임세일처럼 경합이 예상되는 상품을 미리 지정한다
+    public void markHot(Long itemId) {
+        hotStocks.computeIfAbsent(itemId, id -> new HotStock(stripeCount, System.currentTimeMillis()));
+    }
+
+    public void recordConflict(Long itemId) {
+        int count = conflicts.computeIfAbsent(itemId, id -> new AtomicInteger()).incrementAndGet();
+        if (count >= hotThreshold && !isHot(itemId)) {
+            log.info("hot item detected itemId={}, conflicts={}", itemId, count);
+            markHot(itemId);
+        }
+    }
+
+    /**
+     * 인기 상품이면 재고를 선점한다
+     * @return 선점하면 true, 인기 상품이 아니거나 반납 중이면 false (일반 주문 경로로 처리)
+     * @throws NotEnoughStockException 인기 상품의 재고가 모자랄 때
+     */
+    public boolean reserve(Long itemId, int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("count must be positive: " + count);
+        }
+        HotStock stock = hotStocks.get(itemId);
+        if (stock == null) {
+            return false;
+        }
+        stock.touch(System.currentTimeMillis());
+        if (stock.tryTake(count)) {
+            return true;
+        }
+        synchronized (stock) {
+            if (stock.isClosed()) {
+                return false;
+            }
+            // 기다리는 동안 다른 스레드가 채웠을 수 있다
+            if (stock.tryTake(count) || stock.takeAcross(count)) {
+                return true;
+            }
+            int lease = Math.max(leaseSize, count);
+            if (lease(itemId, lease)) {
+                stock.put(lease - count);
+                return true;
+            }
+            // 남은 재고가 leaseSize 보다 적으면 필요한 만큼만 가져온다
+            if (lease > count && lease(itemId, count)) {
+                return true;
+            }
+        }
+        throw new NotEnoughStockException("need more stock");
+    }
+
+    // 선점한 뒤 주문이 실패하면 돌려준다
+    public void release(Long itemId, int count) {
+        HotStock stock = hotStocks.get(itemId);
+        if (stock != null) {
+            synchronized (stock) {
+                if (!stock.isClosed()) {
+                    stock.put(count);
+                    return;
+                }
+            }
+        }
+        returnToDb(itemId, count);
+    }
+
+    // 메모리에 선점되어 있는 재고 수량
+    public int reservedStock(Long itemId) {
+        HotStock stock = hotStocks.get(itemId);
+        return stock == null ? 0 : stock.available();
+    }
+
+    public void flushIdle() {
+        flush(false);
+    }
+
+    // 모든 인기 상품의 남은 재고를 DB 로 돌려준다
+    public void flushAll() {
+        flush(true);
+    }
+
+    @PreDestroy
+    public void close() {
+        flusher.shutdownNow();
+        flushAll();
+    }
+
+    private void flush(boolean all) {
+        try {
+            long now = System.currentTimeMillis();
+            for (Map.Entry<Long, HotStock> entry : hotStocks.entrySet()) {
+                HotStock stock = entry.getValue();
+                if (!all && now - stock.getLastAccessMillis() < idleMillis) {
+                    continue;
+                }
+                int rest;
+                synchronized (stock) {
+                    stock.close();
+                    rest = stock.drain();
+                }
+                hotStocks.remove(entry.getKey(), stock);
+                if (rest > 0) {
+                    returnToDb(entry.getKey(), rest);
+                }
+            }
+            // 충돌 횟수는 flush 주기마다 다시 센다
+            conflicts.clear();
+
+            for (Map.Entry<Long, Integer> entry : pendingReturns.entrySet()) {
+                if (pendingReturns.remove(entry.getKey(), entry.getValue())) {
+                    returnToDb(entry.getKey(), entry.getValue());
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("stock flush failed", e);
+        }
+    }
+
+    private boolean lease(Long itemId, int count) {
+        Boolean leased = txTemplate.execute(status -> itemRepository.decreaseStock(itemId, count));
+        return Boolean.TRUE.equals(leased);
+    }
+
+    private void returnToDb(Long itemId, int count) {
+        try {
+            txTemplate.executeWithoutResult(status -> itemRepository.increaseStock(itemId, count));
+        } catch (RuntimeException e) {
+            log.warn("stock return failed itemId={}, count={}", itemId, count, e);
+            pendingReturns.merge(itemId, count, Integer::sum);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package jpabook.jpashop.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.repository.order.query.OrderQueryDto;
+import jpabook.jpashop.repository.order.query.OrderQueryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// 다른 @SpringBootTest 와 같은 컨텍스트를 쓰도록 MockMvc 를 직접 만든다 (컨텍스트가 하나 더 뜨지 않게)
+@SpringBootTest
+class OrderApiControllerTest {
+
+    @Autowired WebApplicationContext context;
+    @Autowired EntityManager em;
+    @Autowired ObjectMapper objectMapper;
+    @Autowired OrderQueryRepository orderQueryRepository;
+    MockMvc mockMvc;
+
+    @BeforeEach
+    public void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+    }
+
+    @Test
+    public void v7_잘못된_페이지_크기() throws Exception {
+        // size=0 이면 빈 페이지만 반복 조회하게 되므로 스트리밍을 시작하지 않는다
+        mockMvc.perform(get("/api/v7/orders").param("size", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v7/orders").param("size", "-1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void v7_스트리밍() throws Exception {
+        List<Long> expected = em.createQuery(
+                        "select o.id from Order o join o.member m join o.delivery d order by o.id", Long.class)
+                .getResultList();
+        // size=1 이면 주문 하나가 한 페이지 -> 여러 페이지를 이어서 읽어야 한다
+        assertThat(expected).hasSizeGreaterThanOrEqualTo(2);
+
+        MvcResult result = mockMvc.perform(get("/api/v7/orders").param("size", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        // 한 줄에 주문 하나, id 순서대로 빠짐/중복 없이
+        List<Long> orderIds = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            if (!line.isBlank()) {
+                orderIds.add(objectMapper.readTree(line).get("orderId").asLong());
+            }
+        }
+        assertThat(orderIds).containsExactlyElementsOf(expected);
+
+        // keyset 커서: 마지막 id 다음부터 이어서 읽는다
+        List<OrderQueryDto> next = orderQueryRepository.findOrderQueryDtosAfter(orderIds.get(0), 1);
+        assertThat(next).extracting(OrderQueryDto::getOrderId).containsExactly(orderIds.get(1));
+        assertThat(orderQueryRepository.findOrderQueryDtosAfter(orderIds.get(orderIds.size() - 1), 1)).isEmpty();
+    }
+}
@@ -0,0 +1,122 @@
+package jpabook.jpashop.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Delivery;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.OrderItem;
+import jpabook.jpashop.domain.item.Book;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class OrderRepositoryTest {
+
+    @Autowired EntityManager em;
+    @Autowired EntityManagerFactory emf;
+    @Autowired OrderRepository orderRepository;
+
+    @Test
+    public void 컬렉션페치조인_페이징() throws Exception {
+        // given
+        for (int i = 0; i < 30; i++) {
+            createOrder(i);
+        }
+        em.flush();
+        em.clear();
+        List<Long> allIds = em.createQuery("select o.id from Order o order by o.id", Long.class).getResultList();
+
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        try {
+            for (int offset : new int[]{0, 10, allIds.size() - 5}) {
+                em.clear();
+                statistics.clear();
+
+                // when
+                List<Order> orders = orderRepository.findAllWithItem(offset, 5);
+
+                // then
+                assertEquals(allIds.subList(offset, offset + 5),
+                        orders.stream().map(Order::getId).collect(Collectors.toList()), "id 순서대로 한 페이지만 조회해야 한다.");
+                assertEquals(5, statistics.getEntityStatistics(Order.class.getName()).getLoadCount(),
+                        "offset 과 상관없이 페이지 크기만큼만 엔티티를 읽어야 한다.");
+                assertEquals(2, statistics.getPrepareStatementCount(), "id 조회 + fetch join 조회");
+                for (Order order : orders) {
+                    // 다른 테스트가 커밋한 주문이 섞여 있을 수 있다
+                    if (order.getMember().getName().startsWith("페이징회원")) {
+                        assertEquals(2, order.getOrderItems().size(), "주문 상품이 중복 없이 채워져야 한다.");
+                    }
+                }
+                assertEquals(2, statistics.getPrepareStatementCount(), "추가 지연 로딩이 없어야 한다.");
+            }
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    @Test
+    public void 범위를벗어난_페이지() throws Exception {
+        assertTrue(orderRepository.findAllWithItem(Integer.MAX_VALUE, 10).isEmpty());
+    }
+
+    @Test
+    public void 주문상품이_없는_주문도_페이지에_포함() throws Exception {
+        Member member = new Member();
+        member.setName("빈주문회원");
+        member.setAddress(new Address("서울", "강가", "123-123"));
+        em.persist(member);
+        Delivery delivery = new Delivery();
+        delivery.setAddress(member.getAddress());
+        Order emptyOrder = Order.createOrder(member, delivery);
+        em.persist(emptyOrder);
+        em.flush();
+        em.clear();
+
+        List<Long> allIds = em.createQuery("select o.id from Order o order by o.id", Long.class).getResultList();
+        int offset = allIds.indexOf(emptyOrder.getId());
+
+        List<Order> orders = orderRepository.findAllWithItem(offset, 1);
+
+        assertEquals(1, orders.size(), "주문상품이 없어도 1단계에서 고른 주문은 빠지면 안된다.");
+        assertEquals(emptyOrder.getId(), orders.get(0).getId());
+        assertTrue(orders.get(0).getOrderItems().isEmpty());
+    }
+
+    private void createOrder(int i) {
+        Member member = new Member();
+        member.setName("페이징회원" + i);
+        member.setAddress(new Address("서울", "강가", "123-123"));
+        em.persist(member);
+
+        Book book1 = createBook("JPA" + i);
+        Book book2 = createBook("SPRING" + i);
+        Delivery delivery = new Delivery();
+        delivery.setAddress(member.getAddress());
+        Order order = Order.createOrder(member, delivery,
+                OrderItem.createOrderItem(book1, 10000, 1),
+                OrderItem.createOrderItem(book2, 20000, 1));
+        em.persist(order);
+    }
+
+    private Book createBook(String name) {
+        Book book = new Book();
+        book.setName(name);
+        book.setPrice(10000);
+        book.setStockQuantity(10);
+        em.persist(book);
+        return book;
+    }
+}
@@ -0,0 +1,120 @@
+package jpabook.jpashop.repository;
+
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.OrderStatus;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.service.ItemService;
+import jpabook.jpashop.service.MemberService;
+import jpabook.jpashop.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 캐시는 커밋된 결과만 담으므로 @Transactional 을 붙이지 않는다
+@SpringBootTest
+class OrderSearchCacheTest {
+
+    @Autowired OrderRepository orderRepository;
+    @Autowired OrderService orderService;
+    @Autowired MemberService memberService;
+    @Autowired ItemService itemService;
+    @Autowired PlatformTransactionManager transactionManager;
+
+    @Test
+    public void 검색결과캐시_무효화() throws Exception {
+        // given
+        String name = "검색회원" + System.nanoTime();
+        Long memberId = createMember(name);
+        Long itemId = createBook();
+        Long orderId1 = orderService.order(memberId, itemId, 1);
+        Long orderId2 = orderService.order(memberId, itemId, 1);
+        OrderSearch search = search(name, OrderStatus.ORDER);
+
+        // when
+        List<Long> first = ids(orderService.findOrders(search));
+        long hits = orderRepository.searchStats().getResultHits();
+        List<Long> second = ids(orderService.findOrders(search));
+
+        // then
+        assertEquals(List.of(orderId1, orderId2), first.stream().sorted().collect(Collectors.toList()));
+        assertEquals(first, second, "캐시된 id 목록 순서대로 조회해야 한다.");
+        assertEquals(hits + 1, orderRepository.searchStats().getResultHits());
+
+        // 주문 취소 -> 캐시 무효화
+        orderService.cancelOrder(orderId1);
+        assertEquals(List.of(orderId2), ids(orderService.findOrders(search)));
+        assertEquals(List.of(orderId1), ids(orderService.findOrders(search(name, OrderStatus.CANCEL))));
+    }
+
+    @Test
+    public void 이름검색_JPQL은_그대로_Criteria는_포함검색() throws Exception {
+        // given
+        String name = "부분회원" + System.nanoTime();
+        Long orderId = orderService.order(createMember(name), createBook(), 1);
+        OrderSearch prefix = search(name.substring(0, 4), null);
+
+        // then
+        assertFalse(ids(orderRepository.findAllByString(prefix)).contains(orderId));
+        assertTrue(ids(orderRepository.findAllByCriteria(prefix)).contains(orderId));
+        assertEquals(List.of(orderId), ids(orderRepository.findAllByString(search(name, null))));
+    }
+
+    @Test
+    public void 주문을_바꾼_트랜잭션은_캐시를_거치지_않는다() throws Exception {
+        // given
+        String name = "트랜잭션회원" + System.nanoTime();
+        Long memberId = createMember(name);
+        Long itemId = createBook();
+        OrderSearch search = search(name, null);
+        assertTrue(orderService.findOrders(search).isEmpty());
+
+        // when
+        long bypasses = orderRepository.searchStats().getBypasses();
+        List<Long> inTx = new TransactionTemplate(transactionManager).execute(status -> {
+            Long orderId = orderService.order(memberId, itemId, 1);
+            List<Long> found = ids(orderRepository.findAllByCriteria(search));
+            assertEquals(List.of(orderId), found);
+            return found;
+        });
+
+        // then
+        assertEquals(bypasses + 1, orderRepository.searchStats().getBypasses());
+        assertEquals(inTx, ids(orderService.findOrders(search)), "커밋 후에는 새 주문이 보여야 한다.");
+    }
+
+    private static List<Long> ids(List<Order> orders) {
+        return orders.stream().map(Order::getId).collect(Collectors.toList());
+    }
+
+    private static OrderSearch search(String memberName, OrderStatus status) {
+        OrderSearch search = new OrderSearch();
+        search.setMemberName(memberName);
+        search.setOrderStatus(status);
+        return search;
+    }
+
+    private Long createBook() {
+        Book book = new Book();
+        book.setName("시골 JPA");
+        book.setPrice(10000);
+        book.setStockQuantity(100);
+        itemService.saveItem(book);
+        return book.getId();
+    }
+
+    private Long createMember(String name) {
+        Member member = new Member();
+        member.setName(name);
+        member.setAddress(new Address("서울", "강가", "123-123"));
+        return memberService.join(member);
+    }
+}
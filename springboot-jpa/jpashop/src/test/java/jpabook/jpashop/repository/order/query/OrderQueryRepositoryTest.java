@@ -0,0 +1,44 @@
+package jpabook.jpashop.repository.order.query;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class OrderQueryRepositoryTest {
+
+    @Autowired OrderQueryRepository orderQueryRepository;
+
+    @Test
+    public void keyset페이징() throws Exception {
+        // given
+        List<OrderQueryDto> all = orderQueryRepository.findAllByDto_optimization();
+
+        // when
+        List<OrderQueryDto> result = new ArrayList<>();
+        Long lastOrderId = null;
+        List<OrderQueryDto> page;
+        do {
+            page = orderQueryRepository.findOrderQueryDtosAfter(lastOrderId, 1);
+            assertTrue(page.size() <= 1, "페이지 크기를 넘으면 안된다.");
+            result.addAll(page);
+            if (!page.isEmpty()) {
+                lastOrderId = page.get(page.size() - 1).getOrderId();
+            }
+        } while (!page.isEmpty());
+
+        // then
+        assertEquals(all.size(), result.size(), "모든 주문을 한 번씩 조회해야 한다.");
+        for (OrderQueryDto dto : result) {
+            OrderQueryDto expected = all.get(all.indexOf(dto));
+            assertEquals(expected.getOrderItems().size(), dto.getOrderItems().size(), "주문 상품도 같이 조회해야 한다.");
+        }
+    }
+}
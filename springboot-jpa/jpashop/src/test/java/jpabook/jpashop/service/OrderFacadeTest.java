@@ -0,0 +1,136 @@
+package jpabook.jpashop.service;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.exception.NotEnoughStockException;
+import jpabook.jpashop.service.stock.StockReservation;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 여러 스레드가 각자 트랜잭션을 커밋해야 하므로 @Transactional 을 붙이지 않는다
+@SpringBootTest
+class OrderFacadeTest {
+
+    @Autowired OrderFacade orderFacade;
+    @Autowired StockReservation stockReservation;
+    @Autowired MemberService memberService;
+    @Autowired ItemService itemService;
+    @Autowired EntityManager em;
+
+    @Test
+    public void 인기상품_동시주문_oversell없음() throws Exception {
+        // given
+        Long memberId = createMember();
+        Long itemId = createBook(100);
+        stockReservation.markHot(itemId);
+
+        // when
+        Result result = orderConcurrently(memberId, itemId, 64, 3);
+        stockReservation.flushAll();
+
+        // then
+        assertEquals(0, result.failed.get(), "인기 상품은 낙관적 락 충돌이 없어야 한다.");
+        assertEquals(100, result.success.get(), "재고만큼만 주문되어야 한다.");
+        assertEquals(64 * 3 - 100, result.soldOut.get());
+        assertEquals(0, itemService.findOne(itemId).getStockQuantity());
+        assertEquals(100, countOrderItems(itemId));
+    }
+
+    @Test
+    public void 일반상품_동시주문_oversell없음() throws Exception {
+        // given
+        Long memberId = createMember();
+        Long itemId = createBook(50);
+
+        // when
+        Result result = orderConcurrently(memberId, itemId, 16, 5);
+        stockReservation.flushAll();
+
+        // then
+        int stock = itemService.findOne(itemId).getStockQuantity();
+        assertTrue(stock >= 0, "재고가 음수가 되면 안된다.");
+        assertEquals(50, result.success.get() + stock, "주문 수량 + 남은 재고 = 처음 재고");
+        assertEquals(result.success.get(), countOrderItems(itemId));
+    }
+
+    @Test
+    public void 주문실패시_선점재고_반환() throws Exception {
+        // given
+        Long itemId = createBook(10);
+        stockReservation.markHot(itemId);
+
+        // when: 없는 회원으로 주문 -> 주문 트랜잭션 실패
+        assertThrows(RuntimeException.class, () -> orderFacade.order(-1L, itemId, 3));
+
+        // then
+        assertEquals(3, stockReservation.reservedStock(itemId), "선점했던 재고는 메모리로 돌아온다.");
+        stockReservation.flushAll();
+        assertEquals(10, itemService.findOne(itemId).getStockQuantity());
+    }
+
+    private Result orderConcurrently(Long memberId, Long itemId, int threads, int ordersPerThread) throws InterruptedException {
+        Result result = new Result();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int i = 0; i < threads; i++) {
+            executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < ordersPerThread; j++) {
+                    try {
+                        orderFacade.order(memberId, itemId, 1);
+                        result.success.incrementAndGet();
+                    } catch (NotEnoughStockException e) {
+                        result.soldOut.incrementAndGet();
+                    } catch (ConcurrencyFailureException e) {
+                        result.failed.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+        return result;
+    }
+
+    private long countOrderItems(Long itemId) {
+        return em.createQuery("select count(oi) from OrderItem oi where oi.item.id = :itemId", Long.class)
+                .setParameter("itemId", itemId)
+                .getSingleResult();
+    }
+
+    private Long createBook(int stockQuantity) {
+        Book book = new Book();
+        book.setName("시골 JPA");
+        book.setPrice(10000);
+        book.setStockQuantity(stockQuantity);
+        itemService.saveItem(book);
+        return book.getId();
+    }
+
+    private Long createMember() {
+        Member member = new Member();
+        member.setName("회원" + System.nanoTime()); // 중복 회원 검증에 걸리지 않게
+        member.setAddress(new Address("서울", "강가", "123-123"));
+        return memberService.join(member);
+    }
+
+    static class Result {
+        final AtomicInteger success = new AtomicInteger();
+        final AtomicInteger soldOut = new AtomicInteger();
+        final AtomicInteger failed = new AtomicInteger();
+    }
+}